@@ -0,0 +1,149 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.neo4j.client.http.HttpDriver;
+import io.github.jonestimd.neo4j.client.http.HttpResponse;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of fanning out transactions on a fixed pool of platform threads and on a thread per task
+ * (virtual threads on Java 21 or later).  The HTTP driver sleeps to simulate the latency of the server.  Before Java 21,
+ * the thread per task executor is a cached thread pool, so the results only show the effect of the number of threads,
+ * not of virtual threads.  Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransactionManagerBenchmark {
+    private static final byte[] RESPONSE_JSON = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1]}]}],\"errors\":[]}".getBytes();
+    private final List<TransactionCallback<Boolean>> callbacks = new ArrayList<>();
+    private TransactionManager transactionManager;
+    private ExecutorService executor;
+
+    @Param({"platform", "perTask"})
+    public String mode;
+
+    @Param({"16"})
+    public int platformThreads;
+
+    @Param({"256"})
+    public int transactions;
+
+    @Param({"2"})
+    public long latencyMs;
+
+    @Setup
+    public void createManager() {
+        transactionManager = new TransactionManager(() -> new Transaction(new LatencyDriver(latencyMs), "http://localhost/transaction"));
+        executor = mode.equals("platform") ? Executors.newFixedThreadPool(platformThreads) : TransactionManager.newPerTaskExecutor();
+        Statement statement = new Statement("MATCH (n) RETURN count(n)", null);
+        for (int i = 0; i < transactions; i++) {
+            callbacks.add(transaction -> {
+                Response response = transaction.execute(statement);
+                return response.next() && response.getResult().next();
+            });
+        }
+    }
+
+    @TearDown
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<Boolean> fanOut() throws Exception {
+        return transactionManager.doInTransactions(executor, callbacks);
+    }
+
+    private static class LatencyDriver implements HttpDriver {
+        private final long latencyMs;
+
+        public LatencyDriver(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public HttpResponse post(String uri, String jsonEntity) throws IOException {
+            return respond();
+        }
+
+        @Override
+        public HttpResponse delete(String uri) throws IOException {
+            return respond();
+        }
+
+        private HttpResponse respond() throws IOException {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+            return new HttpResponse() {
+                @Override
+                public String getHeader(String name) {
+                    return name.equals("Location") ? "http://localhost/transaction/1" : null;
+                }
+
+                @Override
+                public long getContentLength() {
+                    return RESPONSE_JSON.length;
+                }
+
+                @Override
+                public InputStream getEntityContent() {
+                    return new ByteArrayInputStream(RESPONSE_JSON);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time to decode a page of graph-heavy result rows.  Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResultRowBenchmark {
+    private static final List<String> COLUMNS = Arrays.asList("p", "r", "c");
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private byte[] json;
+
+    @Param({"100"})
+    public int rows;
+
+    @Param({"10"})
+    public int nodesPerRow;
+
+    @Setup
+    public void createRows() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) builder.append(',');
+            builder.append("{\"row\":[{\"name\":\"person ").append(i).append("\",\"age\":").append(i % 90)
+                    .append("},{},\"city\"],\"meta\":[{\"id\":").append(i).append(",\"type\":\"node\",\"deleted\":false},")
+                    .append("{\"id\":").append(i).append(",\"type\":\"relationship\",\"deleted\":false},null],")
+                    .append("\"graph\":{\"nodes\":[");
+            for (int n = 0; n < nodesPerRow; n++) {
+                if (n > 0) builder.append(',');
+                builder.append("{\"id\":\"").append(i * nodesPerRow + n).append("\",\"labels\":[\"Person\",\"Employee\"],")
+                        .append("\"properties\":{\"name\":\"person ").append(n).append("\",\"age\":").append(n).append("}}");
+            }
+            builder.append("],\"relationships\":[");
+            for (int n = 1; n < nodesPerRow; n++) {
+                if (n > 1) builder.append(',');
+                builder.append("{\"id\":\"").append(i * nodesPerRow + n).append("\",\"type\":\"KNOWS\",\"startNode\":\"")
+                        .append(i * nodesPerRow).append("\",\"endNode\":\"").append(i * nodesPerRow + n)
+                        .append("\",\"properties\":{\"since\":").append(2000 + n).append("}}");
+            }
+            builder.append("]}}");
+        }
+        json = builder.append(']').toString().getBytes();
+    }
+
+    @Benchmark
+    public void readRows(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                blackhole.consume(ResultRow.read(COLUMNS, parser, GraphMode.EAGER));
+            }
+        }
+    }
+}
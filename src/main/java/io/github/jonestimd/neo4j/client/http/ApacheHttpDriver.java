@@ -24,7 +24,9 @@ package io.github.jonestimd.neo4j.client.http;
 import java.io.IOException;
 import java.io.InputStream;
 
+import io.github.jonestimd.neo4j.client.transaction.AccessMode;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
@@ -42,6 +44,7 @@ import org.apache.http.impl.client.HttpClients;
  * This class implements {@link HttpDriver} using the Apache HTTP client library.
  */
 public class ApacheHttpDriver implements HttpDriver {
+    public static final String ACCESS_MODE_HEADER = "Access-Mode";
     private final CloseableHttpClient client;
     private final HttpClientContext clientContext;
 
@@ -66,11 +69,25 @@ public class ApacheHttpDriver implements HttpDriver {
     }
 
     public HttpResponse post(String uri, String jsonEntity) throws IOException {
+        return new ResponseAdapter(client.execute(createPost(uri, jsonEntity), clientContext));
+    }
+
+    /**
+     * Send an HTTP Post with the {@value #ACCESS_MODE_HEADER} header set to {@code READ} for a read-only transaction.
+     */
+    @Override
+    public HttpResponse post(String uri, String jsonEntity, AccessMode accessMode) throws IOException {
+        HttpPost post = createPost(uri, jsonEntity);
+        if (accessMode == AccessMode.READ) post.setHeader(ACCESS_MODE_HEADER, accessMode.name());
+        return new ResponseAdapter(client.execute(post, clientContext));
+    }
+
+    private HttpPost createPost(String uri, String jsonEntity) throws IOException {
         HttpPost post = new HttpPost(uri);
         StringEntity entity = new StringEntity(jsonEntity);
         entity.setContentType(ContentType.APPLICATION_JSON.toString());
         post.setEntity(entity);
-        return new ResponseAdapter(client.execute(post, clientContext));
+        return post;
     }
 
     public HttpResponse delete(String uri) throws IOException {
@@ -90,6 +107,12 @@ public class ApacheHttpDriver implements HttpDriver {
             return header == null ? null : header.getValue();
         }
 
+        @Override
+        public long getContentLength() {
+            HttpEntity entity = response.getEntity();
+            return entity == null ? -1L : entity.getContentLength();
+        }
+
         @Override
         public InputStream getEntityContent() throws IOException {
             return response.getEntity().getContent();
@@ -0,0 +1,97 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class holds an in-memory copy of a response body.  The body is stored in a list of fixed size chunks, so
+ * reading a large body does not require copying it to larger and larger arrays.
+ */
+public class BufferedContent {
+    public static final int CHUNK_SIZE = 16 * 1024;
+    private final List<byte[]> chunks = new ArrayList<>();
+    private long length = 0L;
+
+    /**
+     * Copy the contents of a stream into this buffer.
+     * @param stream the input stream
+     * @param maxLength the maximum number of bytes to copy
+     * @return true if the end of the stream was reached or false if {@code maxLength} bytes were copied before the end
+     * of the stream
+     * @throws IOException
+     */
+    public boolean readFrom(InputStream stream, long maxLength) throws IOException {
+        while (length < maxLength) {
+            int offset = (int) (length % CHUNK_SIZE);
+            if (offset == 0 && length / CHUNK_SIZE == chunks.size()) chunks.add(new byte[CHUNK_SIZE]);
+            byte[] chunk = chunks.get(chunks.size() - 1);
+            int count = stream.read(chunk, offset, (int) Math.min(CHUNK_SIZE - offset, maxLength - length));
+            if (count < 0) return true;
+            length += count;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of bytes in this buffer
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return a new stream for reading the contents of this buffer
+     */
+    public InputStream getInputStream() {
+        return new InputStream() {
+            private long position = 0L;
+
+            @Override
+            public int read() throws IOException {
+                if (position >= length) return -1;
+                byte value = chunks.get((int) (position / CHUNK_SIZE))[(int) (position % CHUNK_SIZE)];
+                position++;
+                return value & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int count) throws IOException {
+                if (count == 0) return 0;
+                if (position >= length) return -1;
+                int chunkOffset = (int) (position % CHUNK_SIZE);
+                int size = (int) Math.min(Math.min(count, CHUNK_SIZE - chunkOffset), length - position);
+                System.arraycopy(chunks.get((int) (position / CHUNK_SIZE)), chunkOffset, buffer, offset, size);
+                position += size;
+                return size;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(Integer.MAX_VALUE, length - position);
+            }
+        };
+    }
+}
@@ -23,6 +23,7 @@ package io.github.jonestimd.neo4j.client.http;
 
 import java.io.IOException;
 
+import io.github.jonestimd.neo4j.client.transaction.AccessMode;
 import io.github.jonestimd.neo4j.client.transaction.Transaction;
 
 /**
@@ -38,6 +39,20 @@ public interface HttpDriver {
      */
     HttpResponse post(String uri, String jsonEntity) throws IOException;
 
+    /**
+     * Send an HTTP Post to a service for a transaction with the specified access mode.  A driver can use the access
+     * mode to route the request for a read-only transaction to a read replica.  The default implementation ignores
+     * the access mode.
+     * @param uri the service URI
+     * @param jsonEntity the request body
+     * @param accessMode the access mode of the transaction
+     * @return the service response
+     * @throws IOException
+     */
+    default HttpResponse post(String uri, String jsonEntity, AccessMode accessMode) throws IOException {
+        return post(uri, jsonEntity);
+    }
+
     /**
      * Send an HTTP Delete to a service.
      * @param uri the service URI
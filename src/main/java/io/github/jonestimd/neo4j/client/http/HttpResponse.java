@@ -38,6 +38,22 @@ public interface HttpResponse extends Closeable {
      */
     String getHeader(String name);
 
+    /**
+     * Get the length of the response body.
+     * @return the length of the response body or {@code -1} if the length is not known or the header is invalid
+     */
+    default long getContentLength() {
+        String length = getHeader("Content-Length");
+        if (length != null) {
+            try {
+                return Math.max(-1L, Long.parseLong(length.trim()));
+            } catch (NumberFormatException ex) {
+                // ignore invalid length
+            }
+        }
+        return -1L;
+    }
+
     /**
      * Get the service response body as a stream.
      * @return a stream for reading the response body
@@ -0,0 +1,40 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * This functional interface is used with {@link TransactionManager} to perform asynchronous tasks in a transaction.
+ * @param <T> the result type of the task
+ * @see TransactionManager#doInTransactionAsync(AsyncTransactionCallback)
+ */
+public interface AsyncTransactionCallback<T> {
+    /**
+     * Called by {@link TransactionManager}.
+     * @param scope the scope of the current transaction.  Use it to make the transaction available to the stages of
+     *        the task that run on other threads.
+     * @return the completion stage of the task
+     * @throws Exception
+     */
+    CompletionStage<T> apply(TransactionScope scope) throws Exception;
+}
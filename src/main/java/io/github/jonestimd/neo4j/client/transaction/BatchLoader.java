@@ -0,0 +1,229 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.ColumnMeta;
+import io.github.jonestimd.neo4j.client.transaction.response.Node;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.ResultColumn;
+import io.github.jonestimd.neo4j.client.transaction.response.ResultRow;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+
+/**
+ * This class batches lookups by key within a transaction.  The keys requested by {@link #load(Object)} are collected
+ * until {@link #dispatch()} is called, and then they are sent in a single query that takes the list of keys as the
+ * {@code keys} parameter, e.g. {@code UNWIND $keys AS k MATCH (n:Item {itemId: k}) RETURN k, n}.  Each row of the result
+ * is matched to its key and the value is passed to the futures for that key.  Keys that do not match any rows are
+ * completed with {@code null}.
+ * <p>
+ * Keys are deduplicated and the results are cached for the life of the loader, so a loader should be created for each
+ * transaction.  Lookups that fail are removed from the cache so that they can be retried.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BatchLoader<K, V> {
+    public static final String KEYS_PARAMETER = "keys";
+    public static final String KEY_COLUMN = "k";
+    public static final String NODE_COLUMN = "n";
+
+    private final Transaction transaction;
+    private final String query;
+    private final Function<ResultRow, K> keyReader;
+    private final Function<ResultRow, V> valueReader;
+    private final int maxBatchSize;
+    private final Lock lock = new ReentrantLock();
+    private final Map<K, CompletableFuture<V>> cache = new HashMap<>();
+    private List<K> pending = new ArrayList<>();
+
+    /**
+     * Create a loader that finds nodes by graph ID.
+     * @param transaction the transaction for the queries
+     * @param maxBatchSize the maximum number of keys per query
+     */
+    public static BatchLoader<Long, Node> byId(Transaction transaction, int maxBatchSize) {
+        String query = "UNWIND $" + KEYS_PARAMETER + " AS " + KEY_COLUMN + " MATCH (" + NODE_COLUMN + ") WHERE id("
+                + NODE_COLUMN + ") = " + KEY_COLUMN + " RETURN " + KEY_COLUMN + ", " + NODE_COLUMN;
+        return new BatchLoader<>(transaction, query, row -> row.getColumn(KEY_COLUMN).getNumber().get().longValue(),
+                BatchLoader::getNode, maxBatchSize);
+    }
+
+    /**
+     * Create a loader that finds nodes by the value of a property.  If more than one node has the same value, then
+     * the first one is used.
+     * @param transaction the transaction for the queries
+     * @param label the label of the nodes
+     * @param property the name of the key property
+     * @param keyReader converts the value of the key column to a key
+     * @param maxBatchSize the maximum number of keys per query
+     * @param <K> the key type
+     */
+    public static <K> BatchLoader<K, Node> byProperty(Transaction transaction, String label, String property,
+            Function<ResultColumn, K> keyReader, int maxBatchSize) {
+        String query = "UNWIND $" + KEYS_PARAMETER + " AS " + KEY_COLUMN + " MATCH (" + NODE_COLUMN + ":" + quote(label)
+                + " {" + quote(property) + ": " + KEY_COLUMN + "}) RETURN " + KEY_COLUMN + ", " + NODE_COLUMN;
+        return new BatchLoader<>(transaction, query, row -> keyReader.apply(row.getColumn(KEY_COLUMN)),
+                BatchLoader::getNode, maxBatchSize);
+    }
+
+    private static String quote(String name) {
+        return '`' + name.replace("`", "``") + '`';
+    }
+
+    private static Node getNode(ResultRow row) {
+        List<ColumnMeta> meta = row.getMeta(NODE_COLUMN);
+        return meta == null || meta.isEmpty() || meta.get(0).getId() == null ? null : row.getNode(meta.get(0).getId());
+    }
+
+    /**
+     * Create a loader.
+     * @param transaction the transaction for the queries
+     * @param query the Cypher query that takes the list of keys as the {@value #KEYS_PARAMETER} parameter
+     * @param keyReader reads the key from a result row
+     * @param valueReader reads the value from a result row
+     * @param maxBatchSize the maximum number of keys per query
+     */
+    public BatchLoader(Transaction transaction, String query, Function<ResultRow, K> keyReader,
+            Function<ResultRow, V> valueReader, int maxBatchSize) {
+        this.transaction = transaction;
+        this.query = query;
+        this.keyReader = keyReader;
+        this.valueReader = valueReader;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Request the value for a key.  The value is not loaded until {@link #dispatch()} is called, unless it has already
+     * been loaded or requested.
+     * @param key the key
+     * @return a future that completes with the value or {@code null} if the key was not found
+     */
+    public CompletableFuture<V> load(K key) {
+        lock.lock();
+        try {
+            CompletableFuture<V> future = cache.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                cache.put(key, future);
+                pending.add(key);
+            }
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Request the values for multiple keys.
+     * @param keys the keys
+     * @return a future that completes with the values in the same order as the keys
+     */
+    public CompletableFuture<List<V>> loadAll(Collection<? extends K> keys) {
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            futures.add(load(key));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<V> values = new ArrayList<>(futures.size());
+            futures.forEach(future -> values.add(future.join()));
+            return values;
+        });
+    }
+
+    /**
+     * Send the pending keys to the server.  The keys are sent using the loader's transaction on the calling thread.
+     * Errors are passed to the futures of the keys instead of being thrown.
+     * @return the number of keys that were sent
+     */
+    public int dispatch() {
+        List<K> keys;
+        List<CompletableFuture<V>> futures = new ArrayList<>();
+        lock.lock();
+        try {
+            keys = pending;
+            pending = new ArrayList<>();
+            keys.forEach(key -> futures.add(cache.get(key)));
+        } finally {
+            lock.unlock();
+        }
+        for (int start = 0; start < keys.size(); start += maxBatchSize) {
+            int end = Math.min(keys.size(), start + maxBatchSize);
+            load(keys.subList(start, end), futures.subList(start, end));
+        }
+        return keys.size();
+    }
+
+    private void load(List<K> keys, List<CompletableFuture<V>> futures) {
+        Map<K, V> values = new HashMap<>();
+        try (Response response = transaction.execute(new Statement(query, Collections.singletonMap(KEYS_PARAMETER, keys)))) {
+            if (response.next()) {
+                StatementResult result = response.getResult();
+                while (result.next()) {
+                    ResultRow row = result.getRow();
+                    values.putIfAbsent(keyReader.apply(row), valueReader.apply(row));
+                }
+            }
+            while (response.next()) {}
+        } catch (Throwable ex) {
+            fail(keys, futures, ex);
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            futures.get(i).complete(values.get(keys.get(i)));
+        }
+    }
+
+    private void fail(List<K> keys, List<CompletableFuture<V>> futures, Throwable ex) {
+        lock.lock();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                cache.remove(keys.get(i), futures.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+        futures.forEach(future -> future.completeExceptionally(ex));
+    }
+
+    /**
+     * Remove all of the loaded values from the cache.  Pending keys are not affected.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            cache.values().removeIf(CompletableFuture::isDone);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
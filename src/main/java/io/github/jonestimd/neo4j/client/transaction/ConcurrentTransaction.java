@@ -0,0 +1,234 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.GraphMode;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+
+/**
+ * This class allows multiple threads to submit statements to a single {@link Transaction}.  The statements are added
+ * to a queue and a single writer sends whatever is pending as one multi-statement request, so requests for the
+ * transaction never overlap.  The results are fully decoded before the submitters' futures are completed.
+ * <p>
+ * The writer runs on the supplied {@link Executor}.  With a direct executor ({@code Runnable::run}), the submitting
+ * thread that finds the queue idle becomes the writer and sends the statements submitted by the other threads while
+ * it is busy.
+ * <p>
+ * If a statement fails, the futures of that statement and of the rest of its request are completed with the error.
+ * The server rolls back the transaction when a statement fails.
+ */
+public class ConcurrentTransaction {
+    private final Transaction transaction;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Create a concurrent wrapper for a transaction with no limit on the number of statements per request.
+     * @param transaction the transaction
+     * @param executor the executor that runs the writer
+     */
+    public ConcurrentTransaction(Transaction transaction, Executor executor) {
+        this(transaction, executor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a concurrent wrapper for a transaction.
+     * @param transaction the transaction
+     * @param executor the executor that runs the writer
+     * @param maxBatchSize the maximum number of statements to send in one request
+     */
+    public ConcurrentTransaction(Transaction transaction, Executor executor, int maxBatchSize) {
+        this.transaction = transaction;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Submit a statement to be sent with the next request.
+     * @param statement the Cypher query
+     * @return a future that completes with the decoded result of the statement
+     */
+    public CompletableFuture<StatementResult> submit(Statement statement) {
+        return enqueue(new Pending(statement, false));
+    }
+
+    /**
+     * Commit the transaction after the previously submitted statements have been sent.  The pending statements are
+     * included in the commit request.  Statements submitted after this method is called are rejected.
+     * @return a future that completes when the transaction has been committed
+     */
+    public CompletableFuture<Void> commit() {
+        return enqueue(new Pending(null, true)).thenApply(result -> null);
+    }
+
+    /**
+     * Roll back the transaction after the previously submitted statements have been sent.  Statements submitted after
+     * this method is called are rejected.
+     * @return a future that completes when the transaction has been rolled back
+     */
+    public CompletableFuture<Void> rollback() {
+        return enqueue(new Pending(null, false)).thenApply(result -> null);
+    }
+
+    private CompletableFuture<StatementResult> enqueue(Pending pending) {
+        if (pending.statement == null ? ! closed.compareAndSet(false, true) : closed.get()) {
+            pending.future.completeExceptionally(new IllegalStateException(Transaction.TRANSACTION_COMPLETE_ERROR));
+        }
+        else {
+            queue.add(pending);
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    reject(ex);
+                }
+            }
+        }
+        return pending.future;
+    }
+
+    /**
+     * Called instead of {@link #drain()} when the executor rejects the writer.  Fails the queued statements and
+     * releases the writer's claim so that the next submitter can try again.
+     */
+    private void reject(RejectedExecutionException ex) {
+        int missed = 1;
+        do {
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                pending.future.completeExceptionally(ex);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Only one thread at a time sends requests.  Statements submitted while a request is in progress are sent by the
+     * thread that is already sending.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            List<Pending> batch = new ArrayList<>();
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                if (pending.statement == null) {
+                    complete(batch, pending);
+                    batch.clear();
+                }
+                else {
+                    batch.add(pending);
+                    if (batch.size() == maxBatchSize) {
+                        send(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (! batch.isEmpty()) send(batch);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            if (transaction.isComplete()) throw new IllegalStateException(Transaction.TRANSACTION_COMPLETE_ERROR);
+            complete(batch, transaction.execute(toStatements(batch)));
+        } catch (Throwable ex) {
+            batch.forEach(pending -> pending.future.completeExceptionally(ex));
+        }
+    }
+
+    private void complete(List<Pending> batch, Pending marker) {
+        try {
+            if (transaction.isComplete()) throw new IllegalStateException(Transaction.TRANSACTION_COMPLETE_ERROR);
+            if (marker.commit) complete(batch, transaction.commit(toStatements(batch)));
+            else {
+                if (! batch.isEmpty()) complete(batch, transaction.execute(toStatements(batch)));
+                transaction.rollback().close();
+            }
+            marker.future.complete(null);
+        } catch (Throwable ex) {
+            batch.forEach(pending -> pending.future.completeExceptionally(ex));
+            marker.future.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Decode the results and complete the futures of the batch.
+     * @throws StatementException if one of the statements failed
+     */
+    private void complete(List<Pending> batch, Response response) throws IOException {
+        response.setGraphMode(GraphMode.EAGER);
+        int index = 0;
+        try {
+            while (response.next()) {
+                batch.get(index++).future.complete(Transaction.readRows(response.getResult()));
+            }
+        } catch (StatementException ex) {
+            for (int i = index; i < batch.size(); i++) {
+                batch.get(i).future.completeExceptionally(ex);
+            }
+            throw ex;
+        } finally {
+            response.close();
+        }
+        while (index < batch.size()) {
+            batch.get(index++).future.completeExceptionally(new IllegalStateException("Missing statement result"));
+        }
+    }
+
+    private static Statement[] toStatements(List<Pending> batch) {
+        Statement[] statements = new Statement[batch.size()];
+        for (int i = 0; i < statements.length; i++) {
+            statements[i] = batch.get(i).statement;
+        }
+        return statements;
+    }
+
+    private static class Pending {
+        private final Statement statement;
+        private final boolean commit;
+        private final CompletableFuture<StatementResult> future = new CompletableFuture<>();
+
+        private Pending(Statement statement, boolean commit) {
+            this.statement = statement;
+            this.commit = commit;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.IOException;
+import java.util.function.LongConsumer;
+
+import io.github.jonestimd.neo4j.client.transaction.response.GraphMode;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+
+/**
+ * The response for statements that are held by a transaction in lazy begin mode.  The statements are sent when
+ * the results are first requested or when the transaction is committed, whichever happens first.
+ */
+class DeferredResponse extends Response {
+    private final Transaction transaction;
+    private final int offset;
+    private final int count;
+    private Response response;
+    private GraphMode graphMode;
+    private LongConsumer expiresListener;
+    private boolean discarded = false;
+
+    /**
+     * @param transaction the transaction holding the statements
+     * @param offset the index of the first statement in the transaction's deferred statements
+     * @param count the number of statements
+     */
+    DeferredResponse(Transaction transaction, int offset, int count) {
+        this.transaction = transaction;
+        this.offset = offset;
+        this.count = count;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Supply the results of the statements.
+     */
+    void resolve(Response response) {
+        this.response = response;
+        if (graphMode != null) response.setGraphMode(graphMode);
+        if (expiresListener != null) response.setTransactionExpiresListener(expiresListener);
+    }
+
+    /**
+     * Called when the statements are discarded by a rollback.
+     */
+    void discard() {
+        discarded = true;
+    }
+
+    private Response getResponse() throws IOException {
+        if (response == null) {
+            if (discarded || transaction.isComplete()) throw new IllegalStateException(Transaction.TRANSACTION_COMPLETE_ERROR);
+            transaction.flush();
+            if (response == null) throw new IllegalStateException("Deferred statements were not sent");
+        }
+        return response;
+    }
+
+    @Override
+    public void setGraphMode(GraphMode graphMode) {
+        this.graphMode = graphMode;
+        if (response != null) response.setGraphMode(graphMode);
+    }
+
+    @Override
+    public boolean next() throws StatementException, IOException {
+        return getResponse().next();
+    }
+
+    @Override
+    public boolean skipResult() throws StatementException, IOException {
+        return getResponse().skipResult();
+    }
+
+    @Override
+    public long getTransactionExpires() {
+        return response == null ? -1L : response.getTransactionExpires();
+    }
+
+    @Override
+    public void setTransactionExpiresListener(LongConsumer listener) {
+        this.expiresListener = listener;
+        if (response != null) response.setTransactionExpiresListener(listener);
+    }
+
+    @Override
+    public StatementResult getResult() {
+        return response == null ? null : response.getResult();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (response != null) response.close();
+    }
+}
@@ -0,0 +1,107 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This interface is used by {@link Transaction} to schedule the requests that keep open transactions alive.
+ * @see TimingWheelScheduler
+ */
+public interface KeepAliveScheduler {
+    /**
+     * @return the time in milliseconds that a transaction can be idle before it is pinged
+     */
+    long getKeepAliveMs();
+
+    /**
+     * Schedule a task to run once.
+     * @param task the task
+     * @param delayMs the delay in milliseconds before running the task
+     * @return a handle for cancelling the task
+     */
+    ScheduledTask schedule(Runnable task, long delayMs);
+
+    /**
+     * A handle for a scheduled task.
+     */
+    interface ScheduledTask {
+        /**
+         * Cancel the task.  Has no effect if the task has already run.
+         */
+        void cancel();
+    }
+
+    /**
+     * Create a scheduler that runs the tasks on a {@link Timer}.  The tasks run on the timer's thread.  Note that
+     * {@link Timer} uses monitors for scheduling and cancelling tasks, so a virtual thread that blocks on it pins its
+     * carrier thread.
+     * @see #executor(ScheduledExecutorService, long)
+     * @param timer the timer
+     * @param keepAliveMs the time in milliseconds that a transaction can be idle before it is pinged
+     */
+    static KeepAliveScheduler timer(Timer timer, long keepAliveMs) {
+        return new KeepAliveScheduler() {
+            @Override
+            public long getKeepAliveMs() {
+                return keepAliveMs;
+            }
+
+            @Override
+            public ScheduledTask schedule(Runnable task, long delayMs) {
+                TimerTask timerTask = new TimerTask() {
+                    @Override
+                    public void run() {
+                        task.run();
+                    }
+                };
+                timer.schedule(timerTask, delayMs);
+                return timerTask::cancel;
+            }
+        };
+    }
+
+    /**
+     * Create a scheduler that runs the tasks on a {@link ScheduledExecutorService}.  Unlike {@link Timer}, the
+     * executors in {@link java.util.concurrent} do not use monitors for scheduling and cancelling tasks.
+     * @param executor the executor
+     * @param keepAliveMs the time in milliseconds that a transaction can be idle before it is pinged
+     */
+    static KeepAliveScheduler executor(ScheduledExecutorService executor, long keepAliveMs) {
+        return new KeepAliveScheduler() {
+            @Override
+            public long getKeepAliveMs() {
+                return keepAliveMs;
+            }
+
+            @Override
+            public ScheduledTask schedule(Runnable task, long delayMs) {
+                ScheduledFuture<?> future = executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+                return () -> future.cancel(false);
+            }
+        };
+    }
+}
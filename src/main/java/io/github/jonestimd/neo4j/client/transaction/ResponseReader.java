@@ -0,0 +1,110 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.github.jonestimd.neo4j.client.http.BufferedContent;
+import io.github.jonestimd.neo4j.client.http.HttpResponse;
+import io.github.jonestimd.neo4j.client.transaction.response.ParallelResponseDecoder;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.SpilledResponse;
+
+/**
+ * This functional interface is used by {@link Transaction} to create a {@link Response} from an HTTP response.
+ */
+public interface ResponseReader {
+    /**
+     * Read the query results from an HTTP response.  The HTTP response is closed after this method returns.
+     * @param httpResponse the HTTP response
+     * @return the query results
+     * @throws IOException
+     */
+    Response read(HttpResponse httpResponse) throws IOException;
+
+    /**
+     * Create a reader that parses the query results as they are requested.
+     * @param jsonFactory factory for creating parsers
+     */
+    static ResponseReader streaming(JsonFactory jsonFactory) {
+        return httpResponse -> new Response(jsonFactory.createParser(httpResponse.getEntityContent()));
+    }
+
+    /**
+     * Create a reader that copies the response body into memory before parsing it, so that the HTTP connection can be
+     * released as soon as the reader returns.  If the response body is larger than {@code maxBufferSize}, then it is
+     * written to a temporary file in the default temporary directory instead.
+     * @param jsonFactory factory for creating parsers
+     * @param maxBufferSize the maximum number of bytes to copy into memory
+     * @see #buffered(JsonFactory, long, Path)
+     */
+    static ResponseReader buffered(JsonFactory jsonFactory, long maxBufferSize) {
+        return buffered(jsonFactory, maxBufferSize, null);
+    }
+
+    /**
+     * Create a reader that copies the response body into memory before parsing it, so that the HTTP connection can be
+     * released as soon as the reader returns.  If the {@code Content-Length} of the response exceeds
+     * {@code maxBufferSize}, or the length is not known and the body turns out to be larger than
+     * {@code maxBufferSize}, then the whole body is written to a temporary file and the returned response is a
+     * {@link SpilledResponse} that must be closed to delete the file.
+     * @param jsonFactory factory for creating parsers
+     * @param maxBufferSize the maximum number of bytes to copy into memory
+     * @param directory the directory for the temporary files or {@code null} to use the default temporary directory
+     */
+    static ResponseReader buffered(JsonFactory jsonFactory, long maxBufferSize, Path directory) {
+        return httpResponse -> {
+            InputStream stream = httpResponse.getEntityContent();
+            if (httpResponse.getContentLength() <= maxBufferSize) {
+                BufferedContent content = new BufferedContent();
+                if (content.readFrom(stream, maxBufferSize)) {
+                    return new Response(jsonFactory.createParser(content.getInputStream()));
+                }
+                stream = new SequenceInputStream(content.getInputStream(), stream);
+            }
+            return SpilledResponse.spill(jsonFactory, stream, directory);
+        };
+    }
+
+    /**
+     * Create a reader that writes the response body to a temporary file before parsing it, so that the HTTP connection
+     * can be released as soon as the reader returns.  The returned responses are instances of {@link SpilledResponse}
+     * and must be closed to delete the temporary file.
+     * @param jsonFactory factory for creating parsers
+     * @param directory the directory for the temporary files or {@code null} to use the default temporary directory
+     */
+    static ResponseReader spilled(JsonFactory jsonFactory, Path directory) {
+        return httpResponse -> SpilledResponse.spill(jsonFactory, httpResponse.getEntityContent(), directory);
+    }
+
+    /**
+     * Create a reader that decodes all of the query results in parallel before returning.
+     * @param decoder the decoder to use for the response body
+     */
+    static ResponseReader parallel(ParallelResponseDecoder decoder) {
+        return httpResponse -> decoder.decode(httpResponse.getEntityContent());
+    }
+}
@@ -0,0 +1,303 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.GraphMode;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.ResultRow;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+
+import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
+
+/**
+ * This class caches the decoded results of read-only Cypher queries.  Statements are cached when the TTL function
+ * returns a positive value for them.  The cache key is the JSON for the statement, so the query text, parameter values
+ * and requested result types must all match for a statement to be served from the cache.  The cache is bounded by the
+ * number of entries and by the total size of the cached results in bytes.  The results are stored as JSON and each
+ * hit decodes new result rows, so callers can not see each other's changes to the rows.  The least recently used entries are evicted when either limit is exceeded.
+ * <p>
+ * A request is only served from the cache if all of its statements are cached.  Otherwise, all of the statements are
+ * sent to the server and the results of the cacheable statements are added to the cache.
+ * @see Transaction#setResultCache(ResultCache)
+ */
+public class ResultCache {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ToLongFunction<Statement> ttlMs;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock lock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long bytes = 0L;
+
+    /**
+     * Create a cache.
+     * @param maxEntries the maximum number of cached statement results
+     * @param maxBytes the maximum total size of the cached results
+     * @param ttlMs returns the time to live in milliseconds for a statement or 0 if the statement should not be cached
+     */
+    public ResultCache(int maxEntries, long maxBytes, ToLongFunction<Statement> ttlMs) {
+        this(maxEntries, maxBytes, ttlMs, System::currentTimeMillis);
+    }
+
+    ResultCache(int maxEntries, long maxBytes, ToLongFunction<Statement> ttlMs, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @param statements the Cypher queries
+     * @return true if all of the statements are cacheable (i.e. the TTL function returns a positive value for them)
+     */
+    public boolean isCacheable(Statement... statements) {
+        for (Statement statement : statements) {
+            if (ttlMs.applyAsLong(statement) <= 0L) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the cached results for a group of statements.  Each cacheable statement is counted as a hit or a miss
+     * depending on whether its result is in the cache.
+     * @param statements the Cypher queries
+     * @return the cached results or {@code null} if any of the statements are not cached
+     * @throws IOException
+     */
+    public Response get(Statement... statements) throws IOException {
+        if (! isCacheable(statements)) return null;
+        String[] keys = new String[statements.length];
+        for (int i = 0; i < statements.length; i++) {
+            keys[i] = getKey(statements[i]);
+        }
+        List<Entry> hits = new ArrayList<>(statements.length);
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            for (String key : keys) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.expires <= now) {
+                    remove(key);
+                    entry = null;
+                }
+                if (entry != null) hits.add(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        hitCount.add(hits.size());
+        missCount.add(statements.length - hits.size());
+        return hits.size() == statements.length ? new Response(newResults(hits), null) : null;
+    }
+
+    /**
+     * Create a reader that decodes the response for a group of statements and caches the results of the cacheable
+     * statements.
+     * @param jsonFactory the factory to use for parsing the response
+     * @param statements the Cypher queries
+     */
+    public ResponseReader reader(JsonFactory jsonFactory, Statement... statements) {
+        return httpResponse -> read(jsonFactory, statements, httpResponse.getEntityContent());
+    }
+
+    private Response read(JsonFactory jsonFactory, Statement[] statements, InputStream stream) throws IOException {
+        List<Entry> entries = new ArrayList<>(statements.length);
+        StatementException error = null;
+        long transactionExpires = -1L;
+        try (JsonParser parser = jsonFactory.createParser(stream)) {
+            checkNextToken(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if (parser.getCurrentName().equals("results")) {
+                    checkNextToken(parser, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        ByteArrayOutputStream json = new ByteArrayOutputStream();
+                        try (JsonGenerator generator = Transaction.DEFAULT_JSON_FACTORY.createGenerator(json)) {
+                            copyCurrentStructure(parser, generator);
+                        }
+                        entries.add(new Entry(json.toByteArray()));
+                    }
+                    checkToken(parser, JsonToken.END_ARRAY);
+                }
+                else if (parser.getCurrentName().equals("errors")) {
+                    error = Response.readError(parser);
+                    if (error != null && entries.isEmpty()) throw error;
+                }
+                else if (parser.getCurrentName().equals("transaction")) {
+                    transactionExpires = Response.readTransactionExpires(parser);
+                }
+                else skipNext(parser);
+            }
+        }
+        if (error == null && entries.size() == statements.length) put(statements, entries);
+        return new Response(newResults(entries), error, transactionExpires);
+    }
+
+    private List<StatementResult> newResults(List<Entry> entries) throws IOException {
+        List<StatementResult> results = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            results.add(entry.newResult());
+        }
+        return results;
+    }
+
+    private void put(Statement[] statements, List<Entry> results) throws IOException {
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            for (int i = 0; i < statements.length; i++) {
+                long ttl = ttlMs.applyAsLong(statements[i]);
+                Entry entry = results.get(i);
+                if (ttl > 0L && entry.bytes <= maxBytes) {
+                    String key = getKey(statements[i]);
+                    remove(key);
+                    entry.expires = now + ttl;
+                    entries.put(key, entry);
+                    bytes += entry.bytes;
+                }
+            }
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= iterator.next().bytes;
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) bytes -= entry.bytes;
+    }
+
+    private String getKey(Statement statement) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Transaction.DEFAULT_JSON_FACTORY.createGenerator(stream)) {
+            statement.toJson(generator);
+        }
+        return stream.toString("UTF-8");
+    }
+
+    /**
+     * Remove all entries from the cache.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            bytes = 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of cached statement results
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the total size of the cached results in bytes
+     */
+    public long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of cacheable statements whose results were found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of cacheable statements whose results were not found in the cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the fraction of cacheable statements whose results were found in the cache
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0L ? 0d : (double) hits / total;
+    }
+
+    private static class Entry {
+        private final byte[] json;
+        private final long bytes;
+        private long expires;
+
+        private Entry(byte[] json) {
+            this.json = json;
+            this.bytes = json.length;
+        }
+
+        public StatementResult newResult() throws IOException {
+            try (JsonParser parser = Transaction.DEFAULT_JSON_FACTORY.createParser(json)) {
+                parser.nextToken();
+                StatementResult result = new StatementResult(parser);
+                result.setGraphMode(GraphMode.EAGER);
+                List<ResultRow> rows = new ArrayList<>();
+                while (result.next()) rows.add(result.getRow());
+                return new StatementResult(result.getColumns(), rows);
+            }
+        }
+    }
+}
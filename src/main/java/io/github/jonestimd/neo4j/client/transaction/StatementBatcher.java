@@ -0,0 +1,230 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.GraphMode;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+
+/**
+ * This class coalesces independent read-only statements submitted by concurrent callers into multi-statement
+ * requests.  Statements are collected for up to a time window or until a batch size is reached, and then they are sent
+ * in a single commit request using a new {@link AccessMode#READ} transaction.  The results are decoded and passed to
+ * each caller's future.
+ * <p>
+ * When a statement fails, the server rolls back the transaction and skips the rest of the statements in the request.
+ * If the error code shows that the failure was caused by the statement (see {@link #STATEMENT_ERROR_PREFIXES}), then
+ * only the failed statement's future receives the error.  The results of the earlier statements are delivered and the
+ * later statements are sent again in a new request.  Any other error (e.g. an invalid request, a transaction error or
+ * a failed commit after the last result) fails all of the statements in the request.
+ */
+public class StatementBatcher {
+    /** Prefixes of the error codes that are reported for an individual statement. */
+    public static final List<String> STATEMENT_ERROR_PREFIXES = Collections.unmodifiableList(Arrays.asList(
+            "Neo.ClientError.Statement.", "Neo.ClientError.Schema.", "Neo.ClientError.Procedure."));
+
+    private final Supplier<Transaction> transactionFactory;
+    private final ScheduledExecutorService executor;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Lock lock = new ReentrantLock();
+    private List<Pending> batch = new ArrayList<>();
+
+    /**
+     * Create a batcher.
+     * @param transactionFactory creates the transaction for each request
+     * @param executor the executor that sends the requests
+     * @param windowMs the maximum time to wait for more statements after the first statement of a batch
+     * @param maxBatchSize the number of statements that causes a batch to be sent without waiting
+     */
+    public StatementBatcher(Supplier<Transaction> transactionFactory, ScheduledExecutorService executor, long windowMs, int maxBatchSize) {
+        this.transactionFactory = transactionFactory;
+        this.executor = executor;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Submit a read-only statement to be sent with the next batch.
+     * @param statement the Cypher query
+     * @return a future that completes with the decoded result of the statement
+     * @throws IllegalArgumentException if the statement contains a write clause
+     * @see Statement#isWrite()
+     */
+    public CompletableFuture<StatementResult> submit(Statement statement) {
+        if (statement.isWrite()) throw new IllegalArgumentException(Transaction.READ_ONLY_ERROR + statement.getQuery());
+        Pending pending = new Pending(statement);
+        List<Pending> ready = null;
+        RejectedExecutionException rejected = null;
+        lock.lock();
+        try {
+            List<Pending> current = batch;
+            current.add(pending);
+            if (current.size() >= maxBatchSize) {
+                ready = current;
+                batch = new ArrayList<>();
+            }
+            else if (current.size() == 1) {
+                try {
+                    executor.schedule(() -> flush(current), windowMs, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException ex) {
+                    batch = new ArrayList<>();
+                    rejected = ex;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (rejected != null) pending.future.completeExceptionally(rejected);
+        else if (ready != null) execute(ready);
+        return pending.future;
+    }
+
+    /**
+     * Send the pending statements without waiting for the end of the time window.
+     */
+    public void flush() {
+        List<Pending> current;
+        lock.lock();
+        try {
+            current = batch;
+            batch = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        if (! current.isEmpty()) execute(current);
+    }
+
+    /**
+     * Send a batch on the executor.  If the executor rejects the batch, then the rejection is passed to the futures.
+     */
+    private void execute(List<Pending> pending) {
+        try {
+            executor.execute(() -> send(pending));
+        } catch (RejectedExecutionException ex) {
+            fail(pending, ex);
+        }
+    }
+
+    private void flush(List<Pending> expected) {
+        lock.lock();
+        try {
+            if (batch != expected) return;
+            batch = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        send(expected);
+    }
+
+    private void send(List<Pending> pending) {
+        int start = 0;
+        while (start < pending.size()) {
+            start += sendRequest(pending.subList(start, pending.size()));
+        }
+    }
+
+    /**
+     * Send statements in a single commit request.  The futures are not completed until the whole response has been
+     * read, so that an error at the end of the response (e.g. a failed commit) is not mistaken for success.
+     * @return the number of statements that were completed
+     */
+    private int sendRequest(List<Pending> pending) {
+        List<StatementResult> results = new ArrayList<>(pending.size());
+        try {
+            Transaction transaction = transactionFactory.get();
+            transaction.setAccessMode(AccessMode.READ);
+            try (Response response = transaction.commit(toStatements(pending))) {
+                response.setGraphMode(GraphMode.EAGER);
+                while (response.next()) results.add(Transaction.readRows(response.getResult()));
+            }
+        } catch (StatementException ex) {
+            if (results.size() < pending.size() && isStatementError(ex)) {
+                complete(pending, results);
+                pending.get(results.size()).future.completeExceptionally(ex);
+                return results.size() + 1;
+            }
+            fail(pending, ex);
+            return pending.size();
+        } catch (Throwable ex) {
+            fail(pending, ex);
+            return pending.size();
+        }
+        if (results.size() != pending.size()) fail(pending, new IllegalStateException("Missing statement result"));
+        else complete(pending, results);
+        return pending.size();
+    }
+
+    /**
+     * @return true if the error was caused by a statement rather than by the request or the transaction
+     */
+    private static boolean isStatementError(StatementException ex) {
+        String code = ex.getCode();
+        if (code != null) {
+            for (String prefix : STATEMENT_ERROR_PREFIXES) {
+                if (code.startsWith(prefix)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static void fail(List<Pending> pending, Throwable error) {
+        pending.forEach(p -> p.future.completeExceptionally(error));
+    }
+
+    private static void complete(List<Pending> pending, List<StatementResult> results) {
+        for (int i = 0; i < results.size(); i++) {
+            pending.get(i).future.complete(results.get(i));
+        }
+    }
+
+    private static Statement[] toStatements(List<Pending> pending) {
+        Statement[] statements = new Statement[pending.size()];
+        for (int i = 0; i < statements.length; i++) {
+            statements[i] = pending.get(i).statement;
+        }
+        return statements;
+    }
+
+    private static class Pending {
+        private final Statement statement;
+        private final CompletableFuture<StatementResult> future = new CompletableFuture<>();
+
+        private Pending(Statement statement) {
+            this.statement = statement;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is a {@link KeepAliveScheduler} for large numbers of open transactions.  Tasks are stored in a hashed
+ * timing wheel that is advanced by a single thread at a fixed tick interval, so scheduling and cancelling a task are
+ * constant time operations and cancelled tasks are removed from the wheel immediately.  Expired tasks are run on a
+ * fixed size thread pool, so a slow ping does not delay the other tasks.  Task delays are rounded up to a whole number
+ * of ticks.
+ */
+public class TimingWheelScheduler implements KeepAliveScheduler {
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final long keepAliveMs;
+    private final long tickMs;
+    private final Node[] wheel;
+    private final int mask;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService pingExecutor;
+    private final Lock lock = new ReentrantLock();
+    private long currentTick = 0L;
+    private int pendingCount = 0;
+
+    /**
+     * Create a scheduler with 512 buckets, a tick of 1/64 of the keep alive period (at least 10ms) and 4 ping threads.
+     * @param keepAliveMs the time in milliseconds that a transaction can be idle before it is pinged
+     */
+    public TimingWheelScheduler(long keepAliveMs) {
+        this(keepAliveMs, Math.max(10L, keepAliveMs / 64), 512, 4);
+    }
+
+    /**
+     * Create a scheduler.
+     * @param keepAliveMs the time in milliseconds that a transaction can be idle before it is pinged
+     * @param tickMs the resolution of the timing wheel in milliseconds
+     * @param wheelSize the number of buckets in the timing wheel (rounded up to a power of 2)
+     * @param pingThreads the number of threads for running the tasks
+     */
+    public TimingWheelScheduler(long keepAliveMs, long tickMs, int wheelSize, int pingThreads) {
+        this(keepAliveMs, tickMs, wheelSize, newPingExecutor(pingThreads));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    TimingWheelScheduler(long keepAliveMs, long tickMs, int wheelSize, ExecutorService pingExecutor) {
+        this.keepAliveMs = keepAliveMs;
+        this.tickMs = tickMs;
+        this.wheel = new Node[Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1];
+        this.mask = wheel.length - 1;
+        this.pingExecutor = pingExecutor;
+        String name = "keep-alive-" + INSTANCE_COUNT.incrementAndGet();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads(name + "-ticker"));
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Node(null);
+            wheel[i].prev = wheel[i].next = wheel[i];
+        }
+    }
+
+    private static ExecutorService newPingExecutor(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                daemonThreads("keep-alive-ping"));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMs) {
+        long ticks = Math.max(1L, (delayMs + tickMs - 1) / tickMs);
+        Node node = new Node(task);
+        lock.lock();
+        try {
+            node.rounds = (ticks - 1) / wheel.length;
+            Node head = wheel[(int) ((currentTick + ticks) & mask)];
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            pendingCount++;
+        } finally {
+            lock.unlock();
+        }
+        return node;
+    }
+
+    /**
+     * Advance the wheel by one tick and run the expired tasks.  Exceptions are logged instead of being thrown, because
+     * an exception would stop the ticker from running.
+     */
+    void tick() {
+        List<Runnable> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            Node head = wheel[(int) (++currentTick & mask)];
+            Node next;
+            for (Node node = head.next; node != head; node = next) {
+                next = node.next;
+                if (node.rounds == 0) {
+                    node.unlink();
+                    expired.add(node.task);
+                }
+                else node.rounds--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Runnable task : expired) {
+            try {
+                pingExecutor.execute(task);
+            } catch (RuntimeException ex) {
+                logger.warn("error running keep alive task", ex);
+            }
+        }
+    }
+
+    /**
+     * @return the number of tasks that are waiting in the timing wheel
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of expired tasks that are waiting for a ping thread or -1 if not known
+     */
+    public int getQueuedCount() {
+        return pingExecutor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) pingExecutor).getQueue().size() : -1;
+    }
+
+    /**
+     * @return the number of tasks that are running or -1 if not known
+     */
+    public int getActiveCount() {
+        return pingExecutor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) pingExecutor).getActiveCount() : -1;
+    }
+
+    /**
+     * Stop the scheduler.  Pending tasks are discarded.
+     */
+    public void shutdown() {
+        ticker.shutdownNow();
+        pingExecutor.shutdownNow();
+    }
+
+    private class Node implements ScheduledTask {
+        private final Runnable task;
+        private long rounds;
+        private Node prev;
+        private Node next;
+
+        private Node(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * Must be called while holding the lock.
+         */
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = null;
+            pendingCount--;
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                if (next != null) unlink();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
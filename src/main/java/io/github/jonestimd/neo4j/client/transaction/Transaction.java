@@ -23,8 +23,14 @@ package io.github.jonestimd.neo4j.client.transaction;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Semaphore;
 import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -32,30 +38,50 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import io.github.jonestimd.neo4j.client.http.HttpDriver;
 import io.github.jonestimd.neo4j.client.http.HttpResponse;
 import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.GraphMode;
 import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.ResultRow;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This class is used to execute Cypher queries in a transaction.  No HTTP requests are made until the
  * {@link #execute(Statement...) execute()} or {@link #commit(Statement...) commit()} method is called with at least one
- * {@link Statement}.  Once {@link #execute(Statement...) execute()} is called with a {@link Statement}, a timer task is
- * scheduled to ping the transaction URL periodically to keep the transaction alive until it is complete.  This
- * timer task is disabled if the transaction is created with a {@code null} {@link Timer}.
+ * {@link Statement}.  Once {@link #execute(Statement...) execute()} is called with a {@link Statement}, a task is
+ * scheduled to ping the transaction URL periodically to keep the transaction alive until it is complete.  Once the
+ * server has reported the expiry time of the transaction, the ping is only sent shortly before the transaction would
+ * expire and it is never sent while another request is in progress.  This task is disabled if the transaction is
+ * created with a {@code null} {@link Timer} or {@link KeepAliveScheduler}.
  */
 public class Transaction {
     public static final JsonFactory DEFAULT_JSON_FACTORY = new JsonFactory();
     public static final String TRANSACTION_COMPLETE_ERROR = "Transaction already complete";
+    public static final String READ_ONLY_ERROR = "Write statement in read-only transaction: ";
+    public static final long DEFAULT_EXPIRY_MARGIN_MS = 5000L;
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final JsonFactory jsonFactory;
     private final HttpDriver httpDriver;
     private final String baseUrl;
-    private final Timer timer;
-    private final long keepAliveMs;
+    private final KeepAliveScheduler keepAliveScheduler;
+    private volatile KeepAliveScheduler.ScheduledTask keepAliveTask;
     private volatile String location;
     private volatile boolean complete = false;
     private volatile long lastRequestTime = -1L;
+    private volatile long transactionTimeoutMs = -1L;
+    private volatile long expiryMarginMs = DEFAULT_EXPIRY_MARGIN_MS;
+    // the server handles one request at a time for a transaction, so a ping must not overlap an application request
+    private final Semaphore requestPermit = new Semaphore(1);
+    private volatile boolean pingDeferred = false;
+    private ResponseReader responseReader;
+    private ResultCache resultCache;
+    private final List<Statement> deferred = new ArrayList<>();
+    private final List<DeferredResponse> deferredResponses = new ArrayList<>();
+    private boolean lazyBegin = false;
+    private AccessMode accessMode = AccessMode.WRITE;
+    private boolean writeModeUsed = false;
 
     /**
      * Create a transaction factory that uses the supplied parameters to create transactions.  The driver and URL
@@ -70,6 +96,18 @@ public class Transaction {
         return () -> new Transaction(httpDriver, baseUrl, jsonFactory, timer, keepAliveMs);
     }
 
+    /**
+     * Create a transaction factory that uses the supplied parameters to create transactions.  The driver and URL
+     * are required and the remaining parameters are optional.
+     * @param httpDriver the HTTP driver to use for requests
+     * @param baseUrl the base URL for the Neo4j transaction REST API
+     * @param jsonFactory factory for creating generators and parsers
+     * @param keepAliveScheduler the scheduler for the keep alive task
+     */
+    public static Supplier<Transaction> factory(HttpDriver httpDriver, String baseUrl, JsonFactory jsonFactory, KeepAliveScheduler keepAliveScheduler) {
+        return () -> new Transaction(httpDriver, baseUrl, jsonFactory, keepAliveScheduler);
+    }
+
     /**
      * Create a new transaction with the keep alive task disabled.
      * @param httpDriver the HTTP driver to use for requests
@@ -99,11 +137,81 @@ public class Transaction {
      * @param keepAliveMs the period of the keep alive requests in milliseconds
      */
     public Transaction(HttpDriver httpDriver, String baseUrl, JsonFactory jsonFactory, Timer timer, long keepAliveMs) {
+        this(httpDriver, baseUrl, jsonFactory, timer == null ? null : KeepAliveScheduler.timer(timer, keepAliveMs));
+    }
+
+    /**
+     * Create a new transaction.
+     * @param httpDriver the HTTP driver to use for requests
+     * @param baseUrl the base URL for the Neo4j transaction REST API
+     * @param jsonFactory factory for creating generators and parsers
+     * @param keepAliveScheduler the scheduler for the keep alive task or {@code null} to disable the keep alive task
+     */
+    public Transaction(HttpDriver httpDriver, String baseUrl, JsonFactory jsonFactory, KeepAliveScheduler keepAliveScheduler) {
         this.jsonFactory = jsonFactory != null ? jsonFactory : DEFAULT_JSON_FACTORY;
         this.httpDriver = httpDriver;
         this.baseUrl = baseUrl;
-        this.timer = timer;
-        this.keepAliveMs = keepAliveMs;
+        this.keepAliveScheduler = keepAliveScheduler;
+        this.responseReader = ResponseReader.streaming(this.jsonFactory);
+    }
+
+    /**
+     * Set the reader used to create the {@link Response} for each request.  The default reader streams the query
+     * results from the HTTP response.
+     * @param responseReader the response reader
+     * @see ResponseReader#buffered(JsonFactory, long)
+     * @see ResponseReader#parallel(io.github.jonestimd.neo4j.client.transaction.response.ParallelResponseDecoder)
+     */
+    public void setResponseReader(ResponseReader responseReader) {
+        this.responseReader = responseReader;
+    }
+
+    /**
+     * Set the cache to use for the results of read-only queries passed to {@link #execute(Statement...)}.  The
+     * default is {@code null} (no caching).  The cache is only used while this transaction is in
+     * {@link AccessMode#READ} mode and no statements have been executed in {@link AccessMode#WRITE} mode, so that
+     * results cached by other transactions never hide changes made by this transaction.  When all of the statements
+     * are cacheable, the response is fully decoded by the cache instead of using the
+     * {@link #setResponseReader(ResponseReader) response reader}.
+     * @param resultCache the result cache or {@code null}
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Set how long before the server's transaction expiry time the keep alive request is sent.  The margin is limited
+     * to half of the transaction timeout.  The default is {@link #DEFAULT_EXPIRY_MARGIN_MS}.
+     * @param expiryMarginMs the margin in milliseconds
+     */
+    public void setExpiryMarginMs(long expiryMarginMs) {
+        this.expiryMarginMs = expiryMarginMs;
+    }
+
+    /**
+     * Set whether the server transaction is opened lazily.  In lazy begin mode, the statements passed to
+     * {@link #execute(Statement...)} are held until their results are read or the transaction is committed.  If the
+     * results are not read before the commit, then all of the statements are sent in a single commit request and
+     * the server transaction is never left open between requests.  The default is {@code false}.
+     * @param lazyBegin true to hold statements until the results are needed
+     */
+    public void setLazyBegin(boolean lazyBegin) {
+        this.lazyBegin = lazyBegin;
+    }
+
+    /**
+     * Set the access mode of this transaction.  In {@link AccessMode#READ} mode, the access mode is passed to the
+     * {@link HttpDriver} with each request and statements that contain a write clause are rejected before they are
+     * sent.  The default is {@link AccessMode#WRITE}.
+     * @param accessMode the access mode
+     * @see Statement#isWrite()
+     */
+    public void setAccessMode(AccessMode accessMode) {
+        this.accessMode = accessMode;
+    }
+
+    public AccessMode getAccessMode() {
+        return accessMode;
     }
 
     /**
@@ -119,25 +227,164 @@ public class Transaction {
      * @return the result of the Cypher queries
      * @throws IOException
      * @throws IllegalStateException if this transaction is complete
+     * @throws IllegalArgumentException if this transaction is read-only and a statement contains a write clause
      */
     public Response execute(Statement... statements) throws IOException {
         if (complete) throw new IllegalStateException(TRANSACTION_COMPLETE_ERROR);
-        if (statements.length > 0) return postRequest(getUri(), statements);
+        checkAccess(statements);
+        if (lazyBegin && location == null && statements.length > 0) return executeLazy(statements);
+        if (! deferred.isEmpty()) return postDeferred(getUri(), statements);
+        if (statements.length > 0) {
+            if (useCache(statements)) return executeCached(statements);
+            return postRequest(getUri(), statements);
+        }
         return Response.EMPTY;
     }
 
+    /**
+     * Add a group of Cypher queries to be sent with the next request for this transaction.  The results of the deferred
+     * queries are skipped by the {@link Response} returned from the next {@link #execute(Statement...) execute()} or
+     * {@link #commit(Statement...) commit()}.  If one of the deferred queries fails, then the error is thrown by that
+     * method.
+     * @param statements the Cypher queries
+     * @throws IllegalStateException if this transaction is complete
+     * @throws IllegalArgumentException if this transaction is read-only and a statement contains a write clause
+     */
+    public void enqueue(Statement... statements) {
+        if (complete) throw new IllegalStateException(TRANSACTION_COMPLETE_ERROR);
+        checkAccess(statements);
+        Collections.addAll(deferred, statements);
+    }
+
+    /**
+     * @return the number of queries waiting to be sent with the next request.
+     */
+    public int getDeferredCount() {
+        return deferred.size();
+    }
+
+    private void checkAccess(Statement... statements) {
+        if (accessMode == AccessMode.READ) {
+            for (Statement statement : statements) {
+                if (statement.isWrite()) throw new IllegalArgumentException(READ_ONLY_ERROR + statement.getQuery());
+            }
+        }
+        else if (statements.length > 0) writeModeUsed = true;
+    }
+
+    /**
+     * @return true if the statements can be read from the result cache.
+     */
+    private boolean useCache(Statement... statements) {
+        return resultCache != null && accessMode == AccessMode.READ && ! writeModeUsed && resultCache.isCacheable(statements);
+    }
+
+    private Response executeLazy(Statement... statements) throws IOException {
+        if (useCache(statements)) {
+            Response response = resultCache.get(statements);
+            if (response != null) return response;
+        }
+        DeferredResponse response = new DeferredResponse(this, deferred.size(), statements.length);
+        Collections.addAll(deferred, statements);
+        deferredResponses.add(response);
+        return response;
+    }
+
+    /**
+     * Send the deferred statements.
+     */
+    void flush() throws IOException {
+        postDeferred(getUri());
+    }
+
+    private Response postDeferred(String uri, Statement... statements) throws IOException {
+        int count = deferred.size();
+        Statement[] combined = deferred.toArray(new Statement[count + statements.length]);
+        System.arraycopy(statements, 0, combined, count, statements.length);
+        deferred.clear();
+        if (deferredResponses.isEmpty()) {
+            Response response = postRequest(uri, combined);
+            try {
+                for (int i = 0; i < count && response.skipResult(); i++) {}
+            } catch (IOException | RuntimeException ex) {
+                response.close();
+                throw ex;
+            }
+            return response;
+        }
+        List<DeferredResponse> responses = new ArrayList<>(deferredResponses);
+        deferredResponses.clear();
+        return resolveDeferred(postRequest(uri, combined), count, responses);
+    }
+
+    /**
+     * Decode the results of the deferred statements and pass them to the deferred responses.
+     * @param response the response for the deferred statements followed by the statements of the current request
+     * @param count the number of deferred statements
+     * @param responses the responses waiting for the results of the deferred statements
+     * @return a response containing the results of the statements of the current request
+     * @throws StatementException if one of the deferred statements failed
+     */
+    private Response resolveDeferred(Response response, int count, List<DeferredResponse> responses) throws IOException {
+        List<StatementResult> results = new ArrayList<>();
+        StatementException error = null;
+        try {
+            response.setGraphMode(GraphMode.EAGER);
+            while (response.next()) results.add(readRows(response.getResult()));
+        } catch (StatementException ex) {
+            error = ex;
+        } finally {
+            response.close();
+        }
+        for (DeferredResponse deferredResponse : responses) {
+            int end = deferredResponse.getOffset() + deferredResponse.getCount();
+            deferredResponse.resolve(new Response(subList(results, deferredResponse.getOffset(), end),
+                    results.size() < end ? error : null, response.getTransactionExpires()));
+        }
+        if (error != null && results.size() < count) throw error;
+        return new Response(subList(results, count, results.size()), error, response.getTransactionExpires());
+    }
+
+    /**
+     * Read the remaining rows of a streamed result.
+     * @return a result containing the decoded rows
+     */
+    static StatementResult readRows(StatementResult result) throws IOException {
+        List<ResultRow> rows = new ArrayList<>();
+        while (result.next()) rows.add(result.getRow());
+        return new StatementResult(result.getColumns(), rows);
+    }
+
+    private static <T> List<T> subList(List<T> list, int start, int end) {
+        return list.subList(Math.min(start, list.size()), Math.min(end, list.size()));
+    }
+
+    private Response executeCached(Statement... statements) throws IOException {
+        Response response = resultCache.get(statements);
+        return response != null ? response : postRequest(getUri(), resultCache.reader(jsonFactory, statements), statements);
+    }
+
     /**
      * Execute a group of Cypher queries within this transaction and commit the transaction.
      * @param statements the Cypher queries
      * @return the result of the Cypher queries
      * @throws IOException
      * @throws IllegalStateException if this transaction is complete
+     * @throws IllegalArgumentException if this transaction is read-only and a statement contains a write clause
      */
     public Response commit(Statement... statements) throws IOException {
         if (complete) throw new IllegalStateException(TRANSACTION_COMPLETE_ERROR);
+        checkAccess(statements);
+        if (! deferred.isEmpty()) {
+            try {
+                return postDeferred(getUri() + "/commit", statements);
+            } finally {
+                setComplete();
+            }
+        }
         if (statements.length == 0 && location == null) return Response.EMPTY;
         Response response = postRequest(getUri() + "/commit", statements);
-        complete = true;
+        setComplete();
         return response;
     }
 
@@ -146,18 +393,72 @@ public class Transaction {
     }
 
     protected Response postRequest(String uri, Statement... statements) throws IOException {
-        lastRequestTime = System.currentTimeMillis();
-        try (HttpResponse httpResponse = httpDriver.post(uri, toJson(statements))) {
+        return postRequest(uri, responseReader, statements);
+    }
+
+    private Response postRequest(String uri, ResponseReader reader, Statement... statements) throws IOException {
+        requestPermit.acquireUninterruptibly();
+        try {
+            return send(uri, reader, statements);
+        } finally {
+            requestPermit.release();
+            if (pingDeferred) {
+                pingDeferred = false;
+                if (! complete) schedulePing(Math.max(0L, nextPingTime() - System.currentTimeMillis()));
+            }
+        }
+    }
+
+    /**
+     * Send a request.  The caller must hold the request permit.
+     */
+    private Response send(String uri, ResponseReader reader, Statement... statements) throws IOException {
+        long requestTime = System.currentTimeMillis();
+        lastRequestTime = requestTime;
+        try (HttpResponse httpResponse = post(uri, toJson(statements))) {
+            long serverTime = parseDate(httpResponse.getHeader("Date"));
+            long referenceTime = serverTime < 0L ? requestTime : serverTime;
             updateLocation(httpResponse.getHeader("Location"));
-            return new Response(jsonFactory.createParser(httpResponse.getEntityContent()));
+            Response response = reader.read(httpResponse);
+            response.setTransactionExpiresListener(expires -> updateTimeout(expires - referenceTime));
+            return response;
+        }
+    }
+
+    private HttpResponse post(String uri, String json) throws IOException {
+        return accessMode == AccessMode.WRITE ? httpDriver.post(uri, json) : httpDriver.post(uri, json, accessMode);
+    }
+
+    private static long parseDate(String date) {
+        if (date != null) {
+            try {
+                return ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ex) {
+                // ignore invalid date
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Update the transaction timeout using the expiry time from a response.  The timeout is measured from the
+     * {@code Date} header of the response (or the local request time if it is missing) so that the keep alive schedule
+     * is not affected by the difference between the server and client clocks.
+     */
+    private void updateTimeout(long timeoutMs) {
+        if (timeoutMs > 0L && timeoutMs != transactionTimeoutMs) {
+            transactionTimeoutMs = timeoutMs;
+            if (keepAliveScheduler != null && location != null && ! complete) {
+                schedulePing(Math.max(0L, nextPingTime() - System.currentTimeMillis()));
+            }
         }
     }
 
     private void updateLocation(String location) {
         if (location != null && ! location.equals(this.location)) {
             this.location = location;
-            if (timer != null) {
-                timer.schedule(new PingTask(), keepAliveMs);
+            if (keepAliveScheduler != null) {
+                schedulePing(keepAliveScheduler.getKeepAliveMs());
             }
         }
     }
@@ -181,37 +482,76 @@ public class Transaction {
     }
 
     /**
-     * Rollback this transaction.
+     * Rollback this transaction.  Any {@link #enqueue(Statement...) deferred} queries are discarded.
      * @return the result of rolling back the transaction
      * @throws IOException
      * @throws IllegalStateException if this transaction is complete
      */
     public Response rollback() throws IOException {
         if (complete) throw new IllegalStateException(TRANSACTION_COMPLETE_ERROR);
+        deferred.clear();
+        deferredResponses.forEach(DeferredResponse::discard);
+        deferredResponses.clear();
         if (location != null) {
+            requestPermit.acquireUninterruptibly();
             try (HttpResponse httpResponse = httpDriver.delete(location)) {
-                this.complete = true;
-                return new Response(jsonFactory.createParser(httpResponse.getEntityContent()));
+                setComplete();
+                return responseReader.read(httpResponse);
+            } finally {
+                requestPermit.release();
             }
         }
         return Response.EMPTY;
     }
 
-    private class PingTask extends TimerTask {
-        @Override
-        public void run() {
-            if (!complete) {
+    private void setComplete() {
+        complete = true;
+        KeepAliveScheduler.ScheduledTask task = keepAliveTask;
+        if (task != null) task.cancel();
+    }
+
+    private void schedulePing(long delayMs) {
+        KeepAliveScheduler.ScheduledTask previous = keepAliveTask;
+        if (previous != null) previous.cancel();
+        KeepAliveScheduler.ScheduledTask task = keepAliveScheduler.schedule(this::ping, delayMs);
+        keepAliveTask = task;
+        if (complete) task.cancel();
+    }
+
+    /**
+     * @return the time at which the next keep alive request is due.  Every request resets the server's expiry time, so
+     * the ping is due a margin before the transaction would expire after the last request.  If the server has not
+     * reported an expiry time, then the fixed keep alive period is used.
+     */
+    private long nextPingTime() {
+        long timeoutMs = transactionTimeoutMs;
+        if (timeoutMs > 0L) {
+            return lastRequestTime + Math.max(timeoutMs - expiryMarginMs, timeoutMs / 2);
+        }
+        return lastRequestTime + keepAliveScheduler.getKeepAliveMs();
+    }
+
+    private void ping() {
+        if (!complete) {
+            if (! requestPermit.tryAcquire()) {
+                // rescheduled when the request in progress completes
+                pingDeferred = true;
+                if (! requestPermit.tryAcquire()) return;
+                pingDeferred = false;
+            }
+            try {
                 long now = System.currentTimeMillis();
-                if (now - lastRequestTime >= keepAliveMs) {
-                    try {
-                        lastRequestTime = System.currentTimeMillis();
-                        postRequest(location).next();
+                if (now >= nextPingTime()) {
+                    try (Response response = send(location, responseReader)) {
+                        response.next();
                     } catch (Throwable ex) {
                         logger.warn("error pinging transaction URL " + location, ex);
                     }
                 }
-                timer.schedule(new PingTask(), lastRequestTime + keepAliveMs - now);
+            } finally {
+                requestPermit.release();
             }
+            schedulePing(Math.max(0L, nextPingTime() - System.currentTimeMillis()));
         }
     }
-}
\ No newline at end of file
+}
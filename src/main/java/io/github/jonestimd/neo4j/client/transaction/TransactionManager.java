@@ -22,7 +22,14 @@
 package io.github.jonestimd.neo4j.client.transaction;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -36,12 +43,18 @@ import org.slf4j.LoggerFactory;
  * same thread will use the same transaction.  If {@link #doInTransaction(TransactionCallback)} throws an exception
  * then the transaction is rolled back.  Otherwise, the transaction is committed when the outermost
  * {@link #doInTransaction(TransactionCallback)} returns.
+ * <p>
+ * For tasks that continue on other threads, {@link #doInTransactionAsync(AsyncTransactionCallback)} completes the
+ * transaction when the task's {@link java.util.concurrent.CompletionStage} completes and passes a
+ * {@link TransactionScope} to the task for propagating the transaction to the other threads.
  */
 public class TransactionManager {
+    public static final String READ_ONLY_ERROR = "Write transaction requested within a read-only transaction";
     private static final ThreadLocal<Transaction> TRANSACTION_HOLDER = new ThreadLocal<>();
 
     private final Supplier<Transaction> transactionFactory;
     private final Logger logger = LoggerFactory.getLogger(getClass());
+    private boolean lazyBegin = false;
 
     /**
      * Create a transaction manager that uses the supplied parameters to create transactions.  The driver and URL
@@ -56,6 +69,18 @@ public class TransactionManager {
         this(Transaction.factory(httpDriver, baseUrl, jsonFactory, timer, keepAliveMs));
     }
 
+    /**
+     * Create a transaction manager that uses the supplied parameters to create transactions.  The driver and URL
+     * are required and the remaining parameters are optional.
+     * @param httpDriver the HTTP driver to use for requests
+     * @param baseUrl the base URL for the Neo4j transaction REST API
+     * @param jsonFactory factory for creating generators and parsers
+     * @param keepAliveScheduler the scheduler for the keep alive task
+     */
+    public TransactionManager(HttpDriver httpDriver, String baseUrl, JsonFactory jsonFactory, KeepAliveScheduler keepAliveScheduler) {
+        this(Transaction.factory(httpDriver, baseUrl, jsonFactory, keepAliveScheduler));
+    }
+
     /**
      * Create a transaction manager using the supplied factory to create transactions.
      * @param transactionFactory a factory that creates new transactions
@@ -64,6 +89,17 @@ public class TransactionManager {
         this.transactionFactory = transactionFactory;
     }
 
+    /**
+     * Set whether the transactions created by this manager open the server transaction lazily.  In lazy begin mode,
+     * a callback that does not read its results before returning is completed with a single commit request.  The
+     * default is {@code false}.
+     * @param lazyBegin true to hold statements until their results are needed
+     * @see Transaction#setLazyBegin(boolean)
+     */
+    public void setLazyBegin(boolean lazyBegin) {
+        this.lazyBegin = lazyBegin;
+    }
+
     /**
      * Get the transaction associated with the current thread.
      * @return the transaction or {@code null} is there is no open transaction
@@ -72,6 +108,18 @@ public class TransactionManager {
         return TRANSACTION_HOLDER.get();
     }
 
+    /**
+     * Associate a transaction with the current thread.
+     * @param transaction the transaction or {@code null} to remove the association
+     * @return the transaction that was previously associated with the current thread or {@code null}
+     */
+    static Transaction bind(Transaction transaction) {
+        Transaction previous = TRANSACTION_HOLDER.get();
+        if (transaction == null) TRANSACTION_HOLDER.remove();
+        else TRANSACTION_HOLDER.set(transaction);
+        return previous;
+    }
+
     /**
      * Run the {@code callback} in a transaction.  If there is already a transaction associated with the current thread
      * then that transaction is used.  Otherwise, a new transaction is created, passed to the {@code callback} and
@@ -96,29 +144,226 @@ public class TransactionManager {
      * @throws Exception
      */
     public <T> T doInTransaction(TransactionCallback<T> callback) throws Exception {
+        return doInTransaction(AccessMode.WRITE, callback);
+    }
+
+    /**
+     * Run the {@code callback} in a read-only transaction.  If there is already a transaction associated with the
+     * current thread then that transaction is used.  Otherwise, a new {@link AccessMode#READ} transaction is created,
+     * passed to the {@code callback} and committed or rolled back after the {@code callback} completes.
+     * @param callback the task to perform in the transaction
+     * @throws Exception
+     */
+    public void runInReadTransaction(TransactionConsumer callback) throws Exception {
+        doInReadTransaction(transaction -> {
+            callback.accept(transaction);
+            return null;
+        });
+    }
+
+    /**
+     * Run the {@code callback} in a read-only transaction.  If there is already a transaction associated with the
+     * current thread then that transaction is used.  Otherwise, a new {@link AccessMode#READ} transaction is created,
+     * passed to the {@code callback} and committed or rolled back after the {@code callback} completes.
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return the result of {@code callback}
+     * @throws Exception
+     */
+    public <T> T doInReadTransaction(TransactionCallback<T> callback) throws Exception {
+        return doInTransaction(AccessMode.READ, callback);
+    }
+
+    /**
+     * Run the {@code callback} in a transaction with the specified access mode.  If there is already a transaction
+     * associated with the current thread then that transaction is used.  Otherwise, a new transaction is created,
+     * passed to the {@code callback} and committed or rolled back after the {@code callback} completes.
+     * @param accessMode the access mode for a new transaction
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return the result of {@code callback}
+     * @throws Exception
+     * @throws IllegalStateException if {@code accessMode} is {@link AccessMode#WRITE} and the current thread is
+     *         associated with a read-only transaction
+     */
+    public <T> T doInTransaction(AccessMode accessMode, TransactionCallback<T> callback) throws Exception {
         Transaction transaction = TRANSACTION_HOLDER.get();
         if (transaction == null) {
-            transaction = transactionFactory.get();
+            transaction = newTransaction(accessMode);
             TRANSACTION_HOLDER.set(transaction);
             try {
                 T result = callback.apply(transaction);
                 if (!transaction.isComplete()) {
-                    transaction.commit();
+                    transaction.commit().close();
                 }
                 return result;
             } catch (Throwable ex) {
-                try {
-                    if (!transaction.isComplete()) {
-                        transaction.rollback();
-                    }
-                } catch (IOException e) {
-                    logger.error("transaction rollback failed", ex);
-                }
+                rollback(transaction, ex);
                 throw ex;
             } finally {
                 TRANSACTION_HOLDER.remove();
             }
         }
-        else return callback.apply(transaction);
+        if (accessMode == AccessMode.WRITE && transaction.getAccessMode() == AccessMode.READ) {
+            throw new IllegalStateException(READ_ONLY_ERROR);
+        }
+        return callback.apply(transaction);
+    }
+
+    private Transaction newTransaction(AccessMode accessMode) {
+        Transaction transaction = transactionFactory.get();
+        if (lazyBegin) transaction.setLazyBegin(true);
+        if (accessMode == AccessMode.READ) transaction.setAccessMode(accessMode);
+        return transaction;
+    }
+
+    private void rollback(Transaction transaction, Throwable ex) {
+        try {
+            if (!transaction.isComplete()) {
+                transaction.rollback().close();
+            }
+        } catch (IOException e) {
+            logger.error("transaction rollback failed", ex);
+        }
+    }
+
+    /**
+     * Run an asynchronous {@code callback} in a transaction.  If there is already a transaction associated with the
+     * current thread then that transaction is used and it is not completed by this method.  Otherwise, a new
+     * transaction is created and it is committed or rolled back when the stage returned by the {@code callback}
+     * completes, on the thread that completes the stage.  The transaction is associated with the current thread while
+     * the {@code callback} is called.  Use the {@link TransactionScope} to make it available to the stages of the task.
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return a future that completes with the result of the {@code callback} after the transaction is completed
+     */
+    public <T> CompletableFuture<T> doInTransactionAsync(AsyncTransactionCallback<T> callback) {
+        return doInTransactionAsync(AccessMode.WRITE, callback);
+    }
+
+    /**
+     * Run an asynchronous {@code callback} in a transaction with the specified access mode.
+     * @param accessMode the access mode for a new transaction
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return a future that completes with the result of the {@code callback} after the transaction is completed
+     * @see #doInTransactionAsync(AsyncTransactionCallback)
+     */
+    public <T> CompletableFuture<T> doInTransactionAsync(AccessMode accessMode, AsyncTransactionCallback<T> callback) {
+        Transaction current = TRANSACTION_HOLDER.get();
+        if (current != null) {
+            if (accessMode == AccessMode.WRITE && current.getAccessMode() == AccessMode.READ) {
+                return failed(new IllegalStateException(READ_ONLY_ERROR));
+            }
+            try {
+                return callback.apply(new TransactionScope(current)).toCompletableFuture();
+            } catch (Throwable ex) {
+                return failed(ex);
+            }
+        }
+        Transaction transaction = newTransaction(accessMode);
+        TransactionScope scope = new TransactionScope(transaction);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            scope.call(tx -> callback.apply(scope)).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    try {
+                        if (!transaction.isComplete()) {
+                            transaction.commit().close();
+                        }
+                        future.complete(result);
+                    } catch (Throwable commitError) {
+                        rollback(transaction, commitError);
+                        future.completeExceptionally(commitError);
+                    }
+                }
+                else {
+                    rollback(transaction, ex);
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (Throwable ex) {
+            rollback(transaction, ex);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable ex) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
+    /**
+     * Create an executor that starts a new thread for each task.  On Java 21 or later, the threads are virtual
+     * threads, so a blocking transaction does not tie up a platform thread.  On earlier versions, a cached thread
+     * pool is used instead.
+     * @return a new executor
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Run the {@code callback} in a new transaction on a thread of the {@code executor}.  The transaction is associated
+     * with the executor's thread while the {@code callback} runs, and it is committed or rolled back on that thread.
+     * A new transaction is used even if the executor runs the task on a thread that is already associated with a
+     * transaction (e.g. a direct executor).  That association is restored when the task completes.
+     * @param executor the executor to run the task
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return a future that completes with the result of the {@code callback} after the transaction is completed
+     * @see #newPerTaskExecutor()
+     */
+    public <T> CompletableFuture<T> submit(Executor executor, TransactionCallback<T> callback) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            Transaction outer = TRANSACTION_HOLDER.get();
+            TRANSACTION_HOLDER.remove();
+            try {
+                future.complete(doInTransaction(callback));
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                if (outer != null) TRANSACTION_HOLDER.set(outer);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run each of the {@code callbacks} in its own transaction on a thread of the {@code executor} and wait for all of
+     * them to complete.  The transactions are independent, so the failure of one does not roll back the others.  This
+     * method does not return until all of the tasks have completed, even if one of them fails.
+     * @param executor the executor to run the tasks
+     * @param callbacks the tasks to perform
+     * @param <T> the result type of the {@code callbacks}
+     * @return the results of the {@code callbacks} in the same order
+     * @throws Exception the exception thrown by the first failed task with the exceptions of the other failed tasks
+     *         added as suppressed exceptions
+     */
+    public <T> List<T> doInTransactions(Executor executor, List<? extends TransactionCallback<? extends T>> callbacks) throws Exception {
+        List<CompletableFuture<? extends T>> futures = new ArrayList<>(callbacks.size());
+        for (TransactionCallback<? extends T> callback : callbacks) {
+            futures.add(submit(executor, callback));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        Exception error = null;
+        for (CompletableFuture<? extends T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                Exception cause = ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+                if (error == null) error = cause;
+                else error.addSuppressed(cause);
+            }
+        }
+        if (error != null) throw error;
+        return results;
     }
 }
@@ -0,0 +1,103 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This class carries a transaction across threads.  While a task is run through the scope, the transaction is
+ * associated with the task's thread, so {@link TransactionManager#getTransaction()} and nested calls to
+ * {@link TransactionManager#doInTransaction(TransactionCallback)} use it.  The previous association of the thread is
+ * restored when the task completes.
+ * <p>
+ * The transaction is not thread-safe, so the tasks run through a scope must not use it concurrently.
+ * @see TransactionManager#doInTransactionAsync(AsyncTransactionCallback)
+ */
+public class TransactionScope {
+    private final Transaction transaction;
+
+    /**
+     * Create a scope for a transaction.
+     * @param transaction the transaction
+     */
+    public TransactionScope(Transaction transaction) {
+        this.transaction = transaction;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Run a task with the transaction associated with the current thread.
+     * @param callback the task to perform in the transaction
+     * @param <T> the result type of the {@code callback}
+     * @return the result of {@code callback}
+     * @throws Exception
+     */
+    public <T> T call(TransactionCallback<T> callback) throws Exception {
+        Transaction previous = TransactionManager.bind(transaction);
+        try {
+            return callback.apply(transaction);
+        } finally {
+            TransactionManager.bind(previous);
+        }
+    }
+
+    /**
+     * Run a task with the transaction associated with the current thread.
+     * @param callback the task to perform in the transaction
+     * @throws Exception
+     */
+    public void run(TransactionConsumer callback) throws Exception {
+        call(transaction -> {
+            callback.accept(transaction);
+            return null;
+        });
+    }
+
+    /**
+     * Wrap a task so that it runs with the transaction associated with whichever thread runs it.
+     * @param task the task
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Transaction previous = TransactionManager.bind(transaction);
+            try {
+                task.run();
+            } finally {
+                TransactionManager.bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap an executor so that its tasks run with the transaction associated with their threads.  The wrapped
+     * executor can be passed to the {@code *Async} methods of {@link java.util.concurrent.CompletableFuture}.
+     * @param executor the executor that runs the tasks
+     * @return the wrapped executor
+     */
+    public Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+}
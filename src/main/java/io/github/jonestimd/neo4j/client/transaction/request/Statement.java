@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import io.github.jonestimd.neo4j.client.ToJson;
@@ -36,6 +37,13 @@ import io.github.jonestimd.neo4j.client.ToJson;
  * This class represents a Cypher query.
  */
 public class Statement implements ToJson {
+    private static final Pattern LITERALS = Pattern.compile(
+            "'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"|`[^`]*`|//[^\\n]*|/\\*.*?\\*/|\\{\\s*\\w+\\s*}",
+            Pattern.DOTALL);
+    // matches clause keywords that are not part of a name, a property lookup or a map key
+    private static final Pattern WRITE_CLAUSE = Pattern.compile(
+            "(?<![\\w$])(?<![.:]\\s{0,32})(CREATE|MERGE|DELETE|SET|REMOVE|DROP|FOREACH)(?![\\w$])(?!\\s*:)",
+            Pattern.CASE_INSENSITIVE);
     private final boolean includeStats;
     private final List<ResultType> resultTypes = new ArrayList<>();
     private final String query;
@@ -80,6 +88,16 @@ public class Statement implements ToJson {
         return Collections.unmodifiableList(resultTypes);
     }
 
+    /**
+     * Check the query for clauses that update the database.  String literals, quoted names, legacy parameters
+     * ({@code {name}}), comments, property lookups and map keys are ignored.
+     * Procedure calls are not detected, so a {@code false} result does not guarantee that the query is read-only.
+     * @return true if the query contains a write clause.
+     */
+    public boolean isWrite() {
+        return WRITE_CLAUSE.matcher(LITERALS.matcher(query).replaceAll(" ")).find();
+    }
+
     public void toJson(JsonGenerator generator) throws IOException {
         generator.writeStartObject();
         generator.writeStringField("statement", query);
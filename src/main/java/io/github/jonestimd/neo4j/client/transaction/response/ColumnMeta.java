@@ -28,6 +28,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 
 import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
 
@@ -38,15 +39,22 @@ import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*
 public class ColumnMeta {
     public enum MetaType { NODE, RELATIONSHIP }
 
-    private final Long id;
+    private static final SerializableString[] FIELD_NAMES = fieldNames("id", "type", "deleted");
+    private static final int ID_FIELD = 0;
+    private static final int TYPE_FIELD = 1;
+    private static final int DELETED_FIELD = 2;
+
+    private final boolean hasId;
+    private final long id;
     private final MetaType type;
     private final boolean deleted;
 
     public ColumnMeta() {
-        this(null, null, false);
+        this(false, 0L, null, false);
     }
 
-    private ColumnMeta(Long id, MetaType type, boolean deleted) {
+    private ColumnMeta(boolean hasId, long id, MetaType type, boolean deleted) {
+        this.hasId = hasId;
         this.id = id;
         this.type = type;
         this.deleted = deleted;
@@ -56,6 +64,14 @@ public class ColumnMeta {
      * Get the graph ID of the node or relationship.
      */
     public Long getId() {
+        return hasId ? id : null;
+    }
+
+    boolean hasId() {
+        return hasId;
+    }
+
+    long getIdValue() {
         return id;
     }
 
@@ -97,25 +113,36 @@ public class ColumnMeta {
     }
 
     private static ColumnMeta parseMeta(JsonParser parser) throws IOException {
-        Long id = null;
+        boolean hasId = false;
+        long id = 0L;
         MetaType type = null;
         boolean deleted = false;
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            if (parser.getCurrentName().equals("id")) {
-                checkNextToken(parser, JsonToken.VALUE_NUMBER_INT);
-                id = parser.getLongValue();
-            }
-            else if (parser.getCurrentName().equals("type")) {
-                checkNextToken(parser, JsonToken.VALUE_STRING);
-                type = MetaType.valueOf(parser.getText().toUpperCase());
-            }
-            else if (parser.getCurrentName().equals("deleted")) {
-                deleted = parser.nextToken() == JsonToken.VALUE_TRUE;
-            }
-            else {
-                parser.nextToken();
+        int field = -1;
+        while ((field = nextField(parser, FIELD_NAMES, field + 1)) != END_OF_OBJECT) {
+            switch (field) {
+                case ID_FIELD:
+                    checkNextToken(parser, JsonToken.VALUE_NUMBER_INT);
+                    id = parser.getLongValue();
+                    hasId = true;
+                    break;
+                case TYPE_FIELD:
+                    checkNextToken(parser, JsonToken.VALUE_STRING);
+                    type = toMetaType(parser.getText());
+                    break;
+                case DELETED_FIELD:
+                    deleted = parser.nextToken() == JsonToken.VALUE_TRUE;
+                    break;
+                default: skipNext(parser);
             }
         }
-        return new ColumnMeta(id, type, deleted);
+        return new ColumnMeta(hasId, id, type, deleted);
+    }
+
+    private static MetaType toMetaType(String type) {
+        switch (type) {
+            case "node": return MetaType.NODE;
+            case "relationship": return MetaType.RELATIONSHIP;
+            default: return MetaType.valueOf(type.toUpperCase());
+        }
     }
 }
@@ -0,0 +1,42 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This functional interface supplies the destination for a string column value that is written directly from the
+ * response stream instead of being decoded into a {@code String}.
+ * @see StatementResult#setColumnWriter(String, ColumnWriter)
+ */
+@FunctionalInterface
+public interface ColumnWriter {
+    /**
+     * Get the writer for the value of a column in the row that is being read.  The writer is closed after the value
+     * has been written to it.
+     * @param column the column name
+     * @return the writer for the column value
+     * @throws IOException
+     */
+    Writer open(String column) throws IOException;
+}
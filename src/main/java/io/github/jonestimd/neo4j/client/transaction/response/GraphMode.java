@@ -0,0 +1,36 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+/**
+ * This enum is used to indicate how the {@code graph} section of a result row is parsed.  The default is
+ * {@link #EAGER}.  {@link #LAZY} saves the cost of decoding graphs that are never accessed, but it costs about twice
+ * as much as {@link #EAGER} for graphs that are accessed, because the graph section is copied before it is decoded.
+ */
+public enum GraphMode {
+    /** Decode the nodes and relationships while reading the row. */
+    EAGER,
+    /** Save the JSON of the graph section and decode the nodes and relationships when they are first accessed. */
+    LAZY,
+    /** Discard the graph section.  The row will not contain any nodes or relationships. */
+    SKIP
+}
@@ -0,0 +1,241 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+/**
+ * This class decodes a response as its bytes arrive, without blocking.  The bytes are fed to a non-blocking
+ * {@link JsonParser} and each complete token advances the state of the decoder.  The tokens of each result row are
+ * copied until the row is complete and the row is then decoded using {@link ResultRow#read(List, JsonParser, GraphMode)}
+ * and passed to the {@link ResponseHandler}.  Numbers are copied using their text, so the rows are decoded the same
+ * as by {@link Response}.  Only the current row is held in memory, so a single thread can decode many concurrent
+ * responses.
+ * <p>
+ * This class is not thread safe.  Each instance decodes a single response.
+ */
+public class IncrementalResponseDecoder {
+    private static final int RESULTS_DEPTH = 2;
+    private static final int RESULT_DEPTH = 3;
+    private static final int ROWS_DEPTH = 4;
+
+    private final JsonFactory jsonFactory;
+    private final GraphMode graphMode;
+    private final ResponseHandler handler;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ByteArrayOutputStream captureStream = new ByteArrayOutputStream();
+    private JsonGenerator capture;
+    private int captureDepth;
+    private int depth = 0;
+    private String responseField;
+    private String resultField;
+    private int resultIndex = -1;
+    private List<String> columns;
+    private boolean complete = false;
+
+    /**
+     * Create a decoder that uses {@link GraphMode#EAGER}.
+     * @param jsonFactory factory for creating parsers
+     * @param handler the handler for the decoded results
+     * @throws IOException
+     */
+    public IncrementalResponseDecoder(JsonFactory jsonFactory, ResponseHandler handler) throws IOException {
+        this(jsonFactory, GraphMode.EAGER, handler);
+    }
+
+    /**
+     * Create a decoder.
+     * @param jsonFactory factory for creating parsers
+     * @param graphMode how to handle the graph section of the result rows
+     * @param handler the handler for the decoded results
+     * @throws IOException
+     */
+    public IncrementalResponseDecoder(JsonFactory jsonFactory, GraphMode graphMode, ResponseHandler handler) throws IOException {
+        this.jsonFactory = jsonFactory;
+        this.graphMode = graphMode;
+        this.handler = handler;
+        this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Decode the next part of the response.  All of the bytes in the buffer are consumed before this method returns.
+     * @param buffer the next bytes of the response
+     * @throws IOException
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            feed(buffer.array(), start, start + buffer.remaining());
+        }
+        else {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            feed(bytes, 0, bytes.length);
+        }
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Decode the next part of the response.  All of the bytes in the range are consumed before this method returns.
+     * @param bytes the next bytes of the response
+     * @param start the offset of the first byte
+     * @param end the offset after the last byte
+     * @throws IOException
+     */
+    public void feed(byte[] bytes, int start, int end) throws IOException {
+        if (start < end) {
+            feeder.feedInput(bytes, start, end);
+            processTokens();
+        }
+    }
+
+    /**
+     * Signal the end of the response.
+     * @throws IOException if the response ends inside of a JSON value
+     * @throws ParseResponseException if the response is empty
+     */
+    public void endOfInput() throws IOException {
+        feeder.endOfInput();
+        processTokens();
+        if (! complete) throw new ParseResponseException(parser.getCurrentLocation());
+    }
+
+    private void processTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (capture != null) captureToken(token);
+            else processToken(token);
+        }
+    }
+
+    private void processToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                if (depth == 0 && token != JsonToken.START_OBJECT) throw new ParseResponseException(parser.getCurrentLocation());
+                if (depth == 1 && ("errors".equals(responseField) || "transaction".equals(responseField))) {
+                    startCapture(token);
+                }
+                else startContainer(token);
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                endContainer();
+                break;
+            case FIELD_NAME:
+                if (depth == 1) responseField = parser.getCurrentName();
+                else if (depth == RESULT_DEPTH && isResults()) resultField = parser.getCurrentName();
+                break;
+            case VALUE_STRING:
+                if (depth == ROWS_DEPTH && isResults() && "columns".equals(resultField)) {
+                    columns.add(parser.getText());
+                }
+                break;
+            default:
+                if (depth == 0) throw new ParseResponseException(parser.getCurrentLocation());
+        }
+    }
+
+    private boolean isResults() {
+        return "results".equals(responseField);
+    }
+
+    private void startContainer(JsonToken token) throws IOException {
+        depth++;
+        if (isResults()) {
+            if (depth == RESULT_DEPTH && token == JsonToken.START_OBJECT) {
+                resultIndex++;
+                resultField = null;
+                columns = new ArrayList<>();
+            }
+            else if (depth == ROWS_DEPTH && "data".equals(resultField)) {
+                handler.onResult(resultIndex, columns);
+            }
+            else if (depth == ROWS_DEPTH + 1 && "data".equals(resultField) && token == JsonToken.START_OBJECT) {
+                depth--;
+                startCapture(token);
+            }
+        }
+    }
+
+    private void endContainer() {
+        depth--;
+        if (depth == 0) {
+            complete = true;
+            handler.onComplete();
+        }
+        else if (depth == 1) responseField = null;
+        else if (depth == RESULT_DEPTH - 1 && isResults()) resultField = null;
+    }
+
+    private void startCapture(JsonToken token) throws IOException {
+        captureStream.reset();
+        capture = jsonFactory.createGenerator(captureStream);
+        captureDepth = 0;
+        captureToken(token);
+    }
+
+    private void captureToken(JsonToken token) throws IOException {
+        JsonReader.copyCurrentEvent(parser, capture);
+        if (token.isStructStart()) captureDepth++;
+        else if (token.isStructEnd() && --captureDepth == 0) {
+            capture.close();
+            capture = null;
+            if (depth > 1) readRow();
+            else if ("errors".equals(responseField)) readErrors();
+            else readTransaction();
+        }
+    }
+
+    private void readRow() throws IOException {
+        try (JsonParser rowParser = jsonFactory.createParser(captureStream.toByteArray())) {
+            rowParser.nextToken();
+            handler.onRow(resultIndex, ResultRow.read(columns, rowParser, graphMode));
+        }
+    }
+
+    private void readErrors() throws IOException {
+        try (JsonParser errorParser = jsonFactory.createParser(captureStream.toByteArray())) {
+            StatementException error = Response.readError(errorParser);
+            if (error != null) handler.onError(error);
+        }
+    }
+
+    private void readTransaction() throws IOException {
+        try (JsonParser transactionParser = jsonFactory.createParser(captureStream.toByteArray())) {
+            long expires = Response.readTransactionExpires(transactionParser);
+            if (expires >= 0L) handler.onTransactionExpires(expires);
+        }
+    }
+}
@@ -23,17 +23,26 @@ package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 /**
  * Utility class for parsing a JSON stream.
  */
 public class JsonReader {
+    /** Returned by {@link #nextField(JsonParser, SerializableString[], int)} when there are no more fields. */
+    public static final int END_OF_OBJECT = -1;
+    /** Returned by {@link #nextField(JsonParser, SerializableString[], int)} for a field that is not expected. */
+    public static final int UNKNOWN_FIELD = -2;
+
     /**
      * Read the next object from a stream.  Depending on the next token in the stream, the returned value will be
      * one of
@@ -54,11 +63,27 @@ public class JsonReader {
         return getValue(parser);
     }
 
-    private static Object getValue(JsonParser parser) throws IOException {
+    /**
+     * Skip the next value in a stream without decoding it.
+     * @param parser the JSON stream parser
+     * @throws IOException
+     */
+    public static void skipNext(JsonParser parser) throws IOException {
+        parser.nextToken();
+        parser.skipChildren();
+    }
+
+    /**
+     * Decode the current value of a stream.
+     * @param parser the JSON stream parser positioned on the first token of the value
+     * @throws IOException
+     * @see #readNext(JsonParser)
+     */
+    static Object getValue(JsonParser parser) throws IOException {
         switch (parser.getCurrentToken()) {
             case START_ARRAY: return getArray(parser, JsonReader::getValue);
             case START_OBJECT: return getObject(parser);
-            case VALUE_STRING: return parser.getText();
+            case VALUE_STRING: return StringPool.getDefault().canonicalizeValue(parser.getText());
             case VALUE_NUMBER_INT: return parser.getLongValue();
             case VALUE_NUMBER_FLOAT: return parser.getDecimalValue();
             case VALUE_TRUE: return Boolean.TRUE;
@@ -119,14 +144,93 @@ public class JsonReader {
         return getObject(parser);
     }
 
-    private static Map<String, Object> getObject(JsonParser parser) throws IOException {
+    /**
+     * Read the properties of a node or relationship from a stream.  The properties are returned as an immutable
+     * {@link PropertyMap} that shares its keys with the other property maps that have the same keys.  If the maximum
+     * number of property shapes has been reached, then the properties are returned in a {@link HashMap} instead.
+     * @param parser the JSON stream parser
+     * @return a {@code Map} of name/value pairs for the properties
+     * @throws IOException
+     */
+    static Map<String, Object> readProperties(JsonParser parser) throws IOException {
+        checkNextToken(parser, JsonToken.START_OBJECT);
+        PropertyShape shape = PropertyShape.EMPTY;
+        Object[] values = new Object[8];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            int index = shape.indexOf(key);
+            if (index < 0) {
+                PropertyShape next = shape.with(key);
+                if (next == null) {
+                    Map<String, Object> result = toMap(shape, values);
+                    result.put(key, readNext(parser));
+                    return getObject(parser, result);
+                }
+                shape = next;
+                index = shape.size() - 1;
+                if (index == values.length) values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[index] = readNext(parser);
+        }
+        return new PropertyMap(shape, Arrays.copyOf(values, shape.size()));
+    }
+
+    private static Map<String, Object> toMap(PropertyShape shape, Object[] values) {
         Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < shape.size(); i++) {
+            result.put(shape.getKey(i), values[i]);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> getObject(JsonParser parser) throws IOException {
+        return getObject(parser, new HashMap<>());
+    }
+
+    private static Map<String, Object> getObject(JsonParser parser, Map<String, Object> result) throws IOException {
         while (parser.nextToken() == JsonToken.FIELD_NAME) {
             result.put(parser.getText(), readNext(parser));
         }
         return result;
     }
 
+    /**
+     * Advance to the next field of an object and identify it by its index in {@code expected}.  The name is first
+     * matched against the encoded bytes of {@code expected[index]}, which avoids decoding the name when the fields
+     * are in the expected order.  Otherwise, the decoded name is looked up in {@code expected}, so the fields can still
+     * appear in any order.
+     * @param parser the JSON stream parser
+     * @param expected the pre-encoded names of the fields in the order that they usually appear
+     * @param index the index in {@code expected} of the field that usually appears next
+     * @return the index in {@code expected} of the field name, {@link #UNKNOWN_FIELD} if the name is not in
+     * {@code expected} or {@link #END_OF_OBJECT} if the next token is not a field name
+     * @throws IOException
+     */
+    public static int nextField(JsonParser parser, SerializableString[] expected, int index) throws IOException {
+        if (index >= 0 && index < expected.length) {
+            if (parser.nextFieldName(expected[index])) return index;
+        }
+        else parser.nextToken();
+        if (parser.getCurrentToken() != JsonToken.FIELD_NAME) return END_OF_OBJECT;
+        String name = parser.getCurrentName();
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i].getValue().equals(name)) return i;
+        }
+        return UNKNOWN_FIELD;
+    }
+
+    /**
+     * Create pre-encoded field names for {@link #nextField(JsonParser, SerializableString[], int)}.
+     * @param names the field names
+     */
+    public static SerializableString[] fieldNames(String... names) {
+        SerializableString[] fieldNames = new SerializableString[names.length];
+        for (int i = 0; i < names.length; i++) {
+            fieldNames[i] = new SerializedString(names[i]);
+        }
+        return fieldNames;
+    }
+
     public static void checkToken(JsonParser parser, JsonToken expected) {
         if (parser.getCurrentToken() != expected) throw new ParseResponseException(parser.getCurrentLocation());
     }
@@ -140,6 +244,44 @@ public class JsonReader {
         return Long.valueOf(parser.getText());
     }
 
+    /**
+     * Copy the current token of a stream to a generator.  Numbers are copied using their text, so that floating point
+     * values are not rounded to a {@code double}.
+     * @param parser the JSON stream parser
+     * @param generator the generator to receive the token
+     * @throws IOException
+     */
+    public static void copyCurrentEvent(JsonParser parser, JsonGenerator generator) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                generator.writeNumber(parser.getText());
+                break;
+            default: generator.copyCurrentEvent(parser);
+        }
+    }
+
+    /**
+     * Copy the current value of a stream to a generator, including the field name if the stream is positioned on
+     * one.  Numbers are copied using their text, so that floating point values are not rounded to a {@code double}.
+     * @param parser the JSON stream parser
+     * @param generator the generator to receive the value
+     * @throws IOException
+     */
+    public static void copyCurrentStructure(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.FIELD_NAME) {
+            generator.writeFieldName(parser.getCurrentName());
+            parser.nextToken();
+        }
+        int depth = 0;
+        do {
+            JsonToken token = parser.getCurrentToken();
+            copyCurrentEvent(parser, generator);
+            if (token.isStructStart()) depth++;
+            else if (token.isStructEnd()) depth--;
+        } while (depth > 0 && parser.nextToken() != null);
+    }
+
     /**
      * A functional interface for reading a value from a JSON parser.
      * @param <R> the type of the value to read from the stream
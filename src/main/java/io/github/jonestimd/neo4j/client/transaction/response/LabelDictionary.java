@@ -0,0 +1,160 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class assigns a bit index to each distinct node label and shares a single {@link LabelSet} for each
+ * combination of labels.  The number of shared label sets is bounded by {@code maxSets}.  Once that limit is reached,
+ * new combinations of labels are returned without being shared.
+ */
+public class LabelDictionary {
+    public static final int DEFAULT_MAX_SETS = 4096;
+    private static volatile LabelDictionary defaultDictionary = new LabelDictionary(DEFAULT_MAX_SETS);
+
+    private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LabelSet, LabelSet> labelSets = new ConcurrentHashMap<>();
+    private final int maxSets;
+    private final LabelSet emptySet = new LabelSet(this, new long[0]);
+    private volatile String[] labels = new String[0];
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * @return the dictionary used when parsing query results
+     */
+    public static LabelDictionary getDefault() {
+        return defaultDictionary;
+    }
+
+    /**
+     * Replace the dictionary used when parsing query results.
+     * @param dictionary the new dictionary
+     */
+    public static void setDefault(LabelDictionary dictionary) {
+        defaultDictionary = dictionary;
+    }
+
+    /**
+     * Create a label dictionary.
+     * @param maxSets the maximum number of label sets to share
+     */
+    public LabelDictionary(int maxSets) {
+        this.maxSets = maxSets;
+    }
+
+    /**
+     * Get the bit index of a label, adding the label to the dictionary if necessary.
+     * @param label the label
+     * @return the bit index of the label
+     */
+    public int indexOf(String label) {
+        Integer index = indexes.get(label);
+        return index != null ? index : addLabel(label);
+    }
+
+    private int addLabel(String label) {
+        lock.lock();
+        try {
+            Integer index = indexes.get(label);
+            if (index == null) {
+                String[] labels = Arrays.copyOf(this.labels, this.labels.length + 1);
+                index = this.labels.length;
+                labels[index] = label;
+                this.labels = labels;
+                indexes.put(label, index);
+            }
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the bit index of a label without adding it to the dictionary.
+     * @param label the label
+     * @return the bit index of the label or {@code -1} if the label is not in the dictionary
+     */
+    public int lookup(String label) {
+        Integer index = indexes.get(label);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get the label for a bit index.
+     * @param index the bit index
+     * @return the label
+     */
+    public String getLabel(int index) {
+        return labels[index];
+    }
+
+    /**
+     * @return the number of labels in the dictionary
+     */
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * @return the number of shared label sets
+     */
+    public int getSetCount() {
+        return labelSets.size();
+    }
+
+    /**
+     * Get the shared set of labels.
+     * @param labels the labels
+     * @return the shared set containing {@code labels}
+     */
+    public LabelSet toSet(Collection<String> labels) {
+        if (labels instanceof LabelSet && ((LabelSet) labels).getDictionary() == this) return (LabelSet) labels;
+        long[] bits = LabelSet.EMPTY_BITS;
+        for (String label : labels) {
+            bits = LabelSet.setBit(bits, indexOf(label));
+        }
+        return toSet(bits);
+    }
+
+    /**
+     * Get the shared set of labels for a bit set.
+     * @param bits the bit set created using {@link LabelSet#setBit(long[], int)} (must not be modified after this call)
+     * @return the shared set containing the labels
+     */
+    public LabelSet toSet(long[] bits) {
+        if (bits.length == 0) return emptySet;
+        LabelSet labelSet = new LabelSet(this, bits);
+        LabelSet shared = labelSets.get(labelSet);
+        if (shared == null) {
+            if (labelSets.size() >= maxSets) return labelSet;
+            shared = labelSets.putIfAbsent(labelSet, labelSet);
+            return shared == null ? labelSet : shared;
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,142 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is an immutable set of node labels.  The labels are stored as a bit set using the bit indexes assigned by a
+ * {@link LabelDictionary}.
+ */
+public final class LabelSet extends AbstractSet<String> {
+    static final long[] EMPTY_BITS = new long[0];
+
+    private final LabelDictionary dictionary;
+    private final long[] bits;
+    private final int size;
+    private final int hashCode;
+
+    LabelSet(LabelDictionary dictionary, long[] bits) {
+        this.dictionary = dictionary;
+        this.bits = bits;
+        int size = 0;
+        int hashCode = 0;
+        for (int index = nextIndex(0); index >= 0; index = nextIndex(index + 1)) {
+            size++;
+            hashCode += dictionary.getLabel(index).hashCode();
+        }
+        this.size = size;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Set a bit in a bit set.
+     * @param bits the bit set
+     * @param index the index of the bit to set
+     * @return the bit set, or a larger copy of the bit set if {@code index} is out of range
+     */
+    public static long[] setBit(long[] bits, int index) {
+        int word = index >>> 6;
+        if (word >= bits.length) bits = Arrays.copyOf(bits, word + 1);
+        bits[word] |= 1L << index;
+        return bits;
+    }
+
+    LabelDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Check if this set contains a label.
+     * @param index the bit index of the label in the {@link LabelDictionary}
+     * @return true if the label is in this set
+     */
+    public boolean contains(int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < bits.length && (bits[word] & 1L << index) != 0L;
+    }
+
+    @Override
+    public boolean contains(Object label) {
+        return label instanceof String && contains(dictionary.lookup((String) label));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = nextIndex(0);
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0;
+            }
+
+            @Override
+            public String next() {
+                if (index < 0) throw new NoSuchElementException();
+                String label = dictionary.getLabel(index);
+                index = nextIndex(index + 1);
+                return label;
+            }
+        };
+    }
+
+    private int nextIndex(int fromIndex) {
+        int word = fromIndex >>> 6;
+        if (word >= bits.length) return -1;
+        long remaining = bits[word] & -1L << fromIndex;
+        while (remaining == 0L) {
+            if (++word == bits.length) return -1;
+            remaining = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(remaining);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof LabelSet && ((LabelSet) o).dictionary == dictionary) {
+            return hashCode == o.hashCode() && sameBits(((LabelSet) o).bits);
+        }
+        return super.equals(o);
+    }
+
+    private boolean sameBits(long[] other) {
+        int length = Math.max(bits.length, other.length);
+        for (int i = 0; i < length; i++) {
+            if ((i < bits.length ? bits[i] : 0L) != (i < other.length ? other[i] : 0L)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,132 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class copies a stream to a temporary file and maps the file into memory for reading.  Files larger than the
+ * segment size are mapped as multiple buffers.  The file is deleted when this object is closed, so it must always be
+ * closed.
+ */
+class MappedFile implements Closeable {
+    public static final int SEGMENT_SIZE = 1 << 30;
+    private final Path path;
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final long length;
+
+    /**
+     * Copy a stream to a temporary file.
+     * @param stream the stream to copy
+     * @param directory the directory for the temporary file or {@code null} to use the default temporary directory
+     * @param segmentSize the maximum size of each mapped buffer
+     * @throws IOException
+     */
+    MappedFile(InputStream stream, Path directory, int segmentSize) throws IOException {
+        this.path = directory == null ? Files.createTempFile("neo4j-response", ".json")
+                : Files.createTempFile(directory, "neo4j-response", ".json");
+        this.segmentSize = segmentSize;
+        try {
+            this.length = Files.copy(stream, path, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                for (long offset = 0; offset < length; offset += segmentSize) {
+                    segments.add(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(segmentSize, length - offset)));
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the length of the file
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Create a stream for reading part of the file.
+     * @param offset the offset of the first byte to read
+     * @param length the number of bytes to read
+     */
+    public InputStream getInputStream(long offset, long length) {
+        final long end = Math.min(offset + length, this.length);
+        return new InputStream() {
+            private long position = offset;
+            private ByteBuffer segment;
+
+            private ByteBuffer segment() {
+                int index = (int) (position % segmentSize);
+                if (segment == null || index == 0) {
+                    segment = segments.get((int) (position / segmentSize)).duplicate();
+                }
+                segment.position(index);
+                return segment;
+            }
+
+            @Override
+            public int read() throws IOException {
+                if (position >= end) return -1;
+                byte value = segment().get();
+                position++;
+                return value & 0xff;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                if (length == 0) return 0;
+                if (position >= end) return -1;
+                int count = (int) Math.min(Math.min(length, end - position), segmentSize - position % segmentSize);
+                segment().get(bytes, offset, count);
+                position += count;
+                return count;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(Integer.MAX_VALUE, end - position);
+            }
+        };
+    }
+
+    /**
+     * Delete the file.  The mapped buffers are released when they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        Files.deleteIfExists(path);
+    }
+}
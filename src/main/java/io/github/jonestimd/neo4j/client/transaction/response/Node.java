@@ -23,12 +23,12 @@ package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 
 import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
 
@@ -36,8 +36,12 @@ import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*
  * This class represents a graph node in a query result.
  */
 public class Node implements GraphElement {
+    private static final SerializableString[] FIELD_NAMES = fieldNames("id", "labels", "properties");
+    private static final int ID_FIELD = 0;
+    private static final int LABELS_FIELD = 1;
+    private static final int PROPERTIES_FIELD = 2;
     private final Long id;
-    private final Set<String> labels;
+    private final LabelSet labels;
     private final Map<String, Object> properties;
 
     public Node() {
@@ -46,8 +50,8 @@ public class Node implements GraphElement {
 
     public Node(Long id, Set<String> labels, Map<String, Object> properties) {
         this.id = id;
-        this.labels = Collections.unmodifiableSet(labels);
-        this.properties = Collections.unmodifiableMap(properties);
+        this.labels = LabelDictionary.getDefault().toSet(labels);
+        this.properties = properties instanceof PropertyMap ? properties : Collections.unmodifiableMap(properties);
     }
 
     /**
@@ -65,6 +69,22 @@ public class Node implements GraphElement {
         return labels;
     }
 
+    /**
+     * Check if this node has a label.
+     * @param label the label
+     */
+    public boolean hasLabel(String label) {
+        return labels.contains(label);
+    }
+
+    /**
+     * Check if this node has a label.
+     * @param labelIndex the index of the label in the {@link LabelDictionary} that was used to create this node
+     */
+    public boolean hasLabel(int labelIndex) {
+        return labels.contains(labelIndex);
+    }
+
     /**
      * Get the properties attached to this node.
      */
@@ -76,23 +96,26 @@ public class Node implements GraphElement {
     public static Node read(JsonParser parser) throws IOException {
         checkToken(parser, JsonToken.START_OBJECT);
         Long id = null;
-        Set<String> labels = new HashSet<>();
+        LabelDictionary dictionary = LabelDictionary.getDefault();
+        long[] labelBits = LabelSet.EMPTY_BITS;
         Map<String, Object> properties = Collections.emptyMap();
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            String name = parser.getCurrentName();
-            if ("id".equals(name)) {
-                id = Long.valueOf(parser.nextTextValue());
-            }
-            else if ("labels".equals(name)) {
-                checkNextToken(parser, JsonToken.START_ARRAY);
-                while (parser.nextToken() != JsonToken.END_ARRAY) labels.add(parser.getText());
-            }
-            else if ("properties".equals(name)) {
-                properties = JsonReader.readObject(parser);
+        int field = -1;
+        while ((field = nextField(parser, FIELD_NAMES, field + 1)) != END_OF_OBJECT) {
+            switch (field) {
+                case ID_FIELD:
+                    id = Long.valueOf(parser.nextTextValue());
+                    break;
+                case LABELS_FIELD:
+                    checkNextToken(parser, JsonToken.START_ARRAY);
+                    while (parser.nextToken() != JsonToken.END_ARRAY) labelBits = LabelSet.setBit(labelBits, dictionary.indexOf(parser.getText()));
+                    break;
+                case PROPERTIES_FIELD:
+                    properties = JsonReader.readProperties(parser);
+                    break;
+                default: skipNext(parser);
             }
-            else readNext(parser);
         }
-        return new Node(id, labels, properties);
+        return new Node(id, dictionary.toSet(labelBits), properties);
     }
 
     @Override
@@ -0,0 +1,171 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
+
+/**
+ * This class decodes the results of a multi-statement response in parallel.  The response body is read into a buffer
+ * and scanned to find the byte range of each item in the {@code results} array.  The items are then decoded on a
+ * {@link ForkJoinPool} and returned in statement order as a {@link Response} containing fully decoded
+ * {@link StatementResult}s.  Buffers are reused by subsequent calls to {@link #decode(InputStream)}.
+ */
+public class ParallelResponseDecoder {
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    private final JsonFactory jsonFactory;
+    private final ForkJoinPool pool;
+    private final GraphMode graphMode;
+    private final ConcurrentLinkedQueue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a decoder that uses the common {@link ForkJoinPool} and {@link GraphMode#EAGER}.
+     * @param jsonFactory factory for creating parsers
+     */
+    public ParallelResponseDecoder(JsonFactory jsonFactory) {
+        this(jsonFactory, ForkJoinPool.commonPool(), GraphMode.EAGER);
+    }
+
+    /**
+     * Create a decoder.
+     * @param jsonFactory factory for creating parsers
+     * @param pool the pool to use for decoding the results
+     * @param graphMode how to handle the graph section of the result rows
+     */
+    public ParallelResponseDecoder(JsonFactory jsonFactory, ForkJoinPool pool, GraphMode graphMode) {
+        this.jsonFactory = jsonFactory;
+        this.pool = pool;
+        this.graphMode = graphMode;
+    }
+
+    /**
+     * Read and decode a response.
+     * @param stream the response body
+     * @return the decoded response
+     * @throws IOException
+     * @throws StatementException if the response contains an error before the results
+     */
+    public Response decode(InputStream stream) throws StatementException, IOException {
+        byte[] buffer = acquireBuffer();
+        try {
+            int length = 0;
+            int count;
+            while ((count = stream.read(buffer, length, buffer.length - length)) >= 0) {
+                length += count;
+                if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            return decode(buffer, length);
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private Response decode(byte[] buffer, int length) throws IOException {
+        List<int[]> ranges = new ArrayList<>();
+        StatementException error = null;
+        long transactionExpires = -1L;
+        try (JsonParser parser = jsonFactory.createParser(buffer, 0, length)) {
+            checkNextToken(parser, JsonToken.START_OBJECT);
+            boolean afterResults = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if (parser.getCurrentName().equals("results")) {
+                    checkNextToken(parser, JsonToken.START_ARRAY);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        int start = (int) parser.getTokenLocation().getByteOffset();
+                        parser.skipChildren();
+                        ranges.add(new int[] {start, (int) parser.getCurrentLocation().getByteOffset()});
+                    }
+                    checkToken(parser, JsonToken.END_ARRAY);
+                    afterResults = true;
+                }
+                else if (parser.getCurrentName().equals("errors")) {
+                    error = Response.readError(parser);
+                    if (error != null && ! afterResults) throw error;
+                }
+                else if (parser.getCurrentName().equals("transaction")) {
+                    transactionExpires = Response.readTransactionExpires(parser);
+                }
+                else skipNext(parser);
+            }
+        }
+        return new Response(decodeResults(buffer, ranges), error, transactionExpires);
+    }
+
+    private List<StatementResult> decodeResults(byte[] buffer, List<int[]> ranges) throws IOException {
+        List<StatementResult> results = new ArrayList<>(ranges.size());
+        if (ranges.size() == 1) {
+            results.add(decodeResult(buffer, ranges.get(0)));
+        }
+        else if (! ranges.isEmpty()) {
+            List<ForkJoinTask<StatementResult>> tasks = new ArrayList<>(ranges.size());
+            for (int[] range : ranges) {
+                tasks.add(pool.submit(() -> decodeResult(buffer, range)));
+            }
+            RuntimeException failure = null;
+            for (ForkJoinTask<StatementResult> task : tasks) {
+                try {
+                    results.add(task.join());
+                } catch (RuntimeException ex) {
+                    if (failure == null) failure = ex;
+                }
+            }
+            if (failure instanceof UncheckedIOException) throw ((UncheckedIOException) failure).getCause();
+            if (failure != null) throw failure;
+        }
+        return results;
+    }
+
+    private StatementResult decodeResult(byte[] buffer, int[] range) {
+        try (JsonParser parser = jsonFactory.createParser(buffer, range[0], range[1] - range[0])) {
+            parser.nextToken();
+            return StatementResult.readAll(parser, graphMode);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private byte[] acquireBuffer() {
+        byte[] buffer = buffers.poll();
+        return buffer == null ? new byte[INITIAL_BUFFER_SIZE] : buffer;
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        if (buffer.length <= MAX_POOLED_BUFFER_SIZE && buffers.size() < pool.getParallelism()) {
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.jonestimd.neo4j.client.transaction.response.ColumnMeta.MetaType;
+
+/**
+ * This class represents a path column in a row of a query result.  The graph IDs of the nodes and relationships are
+ * stored in primitive arrays and the {@link Node} and {@link Relationship} objects are looked up in the graph section
+ * of the row when they are requested.  A path of length {@code n} contains {@code n} relationships and {@code n + 1}
+ * nodes.
+ * @see ResultRow#getPath(String)
+ */
+public class Path {
+    private final ResultRow row;
+    private final long[] nodeIds;
+    private final long[] relationshipIds;
+    private boolean[] forward;
+
+    private Path(ResultRow row, long[] nodeIds, long[] relationshipIds) {
+        this.row = row;
+        this.nodeIds = nodeIds;
+        this.relationshipIds = relationshipIds;
+    }
+
+    /**
+     * Create a path from the metadata of a column.
+     * @param row the result row containing the path
+     * @param metas the column metadata
+     * @return the path or {@code null} if the metadata is not an alternating sequence of nodes and relationships
+     * containing at least one relationship
+     */
+    static Path create(ResultRow row, List<ColumnMeta> metas) {
+        // the metadata of a zero length path is the same as the metadata of a node column
+        if (metas == null || metas.size() < 3 || metas.size() % 2 == 0) return null;
+        long[] nodeIds = new long[metas.size() / 2 + 1];
+        long[] relationshipIds = new long[metas.size() / 2];
+        for (int i = 0; i < metas.size(); i++) {
+            ColumnMeta meta = metas.get(i);
+            MetaType type = i % 2 == 0 ? MetaType.NODE : MetaType.RELATIONSHIP;
+            if (meta == null || meta.getType() != type || ! meta.hasId()) return null;
+            if (type == MetaType.NODE) nodeIds[i / 2] = meta.getIdValue();
+            else relationshipIds[i / 2] = meta.getIdValue();
+        }
+        return new Path(row, nodeIds, relationshipIds);
+    }
+
+    /**
+     * @return the number of relationships in this path
+     */
+    public int length() {
+        return relationshipIds.length;
+    }
+
+    /**
+     * @param index the index of the node (0 to {@link #length()})
+     * @return the graph ID of the node
+     */
+    public long getNodeId(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * @param index the index of the relationship (0 to {@link #length()} - 1)
+     * @return the graph ID of the relationship
+     */
+    public long getRelationshipId(int index) {
+        return relationshipIds[index];
+    }
+
+    /**
+     * @return a copy of the graph IDs of the nodes in path order
+     */
+    public long[] getNodeIds() {
+        return Arrays.copyOf(nodeIds, nodeIds.length);
+    }
+
+    /**
+     * @return a copy of the graph IDs of the relationships in path order
+     */
+    public long[] getRelationshipIds() {
+        return Arrays.copyOf(relationshipIds, relationshipIds.length);
+    }
+
+    /**
+     * @param index the index of the node (0 to {@link #length()})
+     * @return the node or {@code null} if the graph section of the row does not contain the node
+     */
+    public Node getNode(int index) {
+        return row.getNode(nodeIds[index]);
+    }
+
+    /**
+     * @param index the index of the relationship (0 to {@link #length()} - 1)
+     * @return the relationship or {@code null} if the graph section of the row does not contain the relationship
+     */
+    public Relationship getRelationship(int index) {
+        return row.getRelationship(relationshipIds[index]);
+    }
+
+    /**
+     * @return the first node of the path or {@code null} if the graph section of the row does not contain the node
+     */
+    public Node getStartNode() {
+        return getNode(0);
+    }
+
+    /**
+     * @return the last node of the path or {@code null} if the graph section of the row does not contain the node
+     */
+    public Node getEndNode() {
+        return getNode(nodeIds.length - 1);
+    }
+
+    /**
+     * Check the direction of a relationship in the path.
+     * @param index the index of the relationship (0 to {@link #length()} - 1)
+     * @return true if the relationship starts at the preceding node of the path or false if it starts at the
+     * following node
+     * @throws IllegalStateException if the graph section of the row does not contain the relationships of the path
+     */
+    public boolean isForward(int index) {
+        if (forward == null) {
+            boolean[] forward = new boolean[relationshipIds.length];
+            for (int i = 0; i < forward.length; i++) {
+                Relationship relationship = row.getRelationship(relationshipIds[i]);
+                if (relationship == null || relationship.getStartId() == null) {
+                    throw new IllegalStateException("Relationship not in result graph: " + relationshipIds[i]);
+                }
+                forward[i] = relationship.getStartId() == nodeIds[i];
+            }
+            this.forward = forward;
+        }
+        return forward[index];
+    }
+}
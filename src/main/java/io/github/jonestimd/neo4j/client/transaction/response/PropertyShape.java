@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents the ordered set of keys of a {@link PropertyMap}.  Shapes are shared by all property maps
+ * that have the same keys in the same order.  A shape is extended one key at a time, so the shapes form a tree rooted
+ * at {@link #EMPTY}.  The total number of shapes is bounded by {@link #MAX_SHAPES}.
+ */
+class PropertyShape {
+    static final int MAX_SHAPES = 8192;
+    private static final int MAX_SCAN_SIZE = 8;
+    private static final AtomicInteger shapeCount = new AtomicInteger();
+    static final PropertyShape EMPTY = new PropertyShape(new String[0]);
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes;
+    private final ConcurrentMap<String, PropertyShape> transitions = new ConcurrentHashMap<>();
+
+    private PropertyShape(String[] keys) {
+        this.keys = keys;
+        if (keys.length > MAX_SCAN_SIZE) {
+            indexes = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) indexes.put(keys[i], i);
+        }
+        else indexes = null;
+    }
+
+    static int getShapeCount() {
+        return shapeCount.get();
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    String getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return the index of the key or {@code -1} if this shape does not contain the key
+     */
+    int indexOf(Object key) {
+        if (indexes != null) {
+            Integer index = indexes.get(key);
+            return index == null ? -1 : index;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) return i;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the shape with an additional key.
+     * @param key a key that is not in this shape
+     * @return the extended shape or {@code null} if the maximum number of shapes has been reached
+     */
+    PropertyShape with(String key) {
+        PropertyShape shape = transitions.get(key);
+        if (shape == null) {
+            if (shapeCount.incrementAndGet() > MAX_SHAPES) {
+                shapeCount.decrementAndGet();
+                return null;
+            }
+            String[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+            keys[this.keys.length] = key;
+            PropertyShape existing = transitions.putIfAbsent(key, shape = new PropertyShape(keys));
+            if (existing != null) {
+                shapeCount.decrementAndGet();
+                return existing;
+            }
+        }
+        return shape;
+    }
+}
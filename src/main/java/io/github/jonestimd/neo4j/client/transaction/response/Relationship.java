@@ -27,6 +27,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 
 import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
 
@@ -34,6 +35,12 @@ import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*
  * This class represents a graph relationship in a query result.
  */
 public class Relationship implements GraphElement {
+    private static final SerializableString[] FIELD_NAMES = fieldNames("id", "type", "startNode", "endNode", "properties");
+    private static final int ID_FIELD = 0;
+    private static final int TYPE_FIELD = 1;
+    private static final int START_NODE_FIELD = 2;
+    private static final int END_NODE_FIELD = 3;
+    private static final int PROPERTIES_FIELD = 4;
     private final Long id;
     private final String type;
     private final Long startId;
@@ -49,7 +56,7 @@ public class Relationship implements GraphElement {
         this.type = type;
         this.startId = startId;
         this.endId = endId;
-        this.properties = Collections.unmodifiableMap(properties);
+        this.properties = properties instanceof PropertyMap ? properties : Collections.unmodifiableMap(properties);
     }
 
     /**
@@ -81,6 +88,24 @@ public class Relationship implements GraphElement {
         return endId;
     }
 
+    /**
+     * Get the starting node from a result row.
+     * @param row the result row containing this relationship
+     * @return the starting node or {@code null} if it is not in the row
+     */
+    public Node getStartNode(ResultRow row) {
+        return startId == null ? null : row.getNode(startId);
+    }
+
+    /**
+     * Get the ending node from a result row.
+     * @param row the result row containing this relationship
+     * @return the ending node or {@code null} if it is not in the row
+     */
+    public Node getEndNode(ResultRow row) {
+        return endId == null ? null : row.getNode(endId);
+    }
+
     /**
      * Get the properties attached to this relationship.
      */
@@ -96,25 +121,25 @@ public class Relationship implements GraphElement {
         Long startId = null;
         Long endId = null;
         Map<String, Object> properties = Collections.emptyMap();
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            String name = parser.getText();
-            if ("id".equals(name)) {
-                id = readLong(parser);
-            }
-            else if ("startNode".equals(name)) {
-                startId = readLong(parser);
-            }
-            else if ("endNode".equals(name)) {
-                endId = readLong(parser);
-            }
-            else if ("type".equals(name)) {
-                type = parser.nextTextValue();
-            }
-            else if ("properties".equals(name)) {
-                properties = readObject(parser);
-            }
-            else {
-                readNext(parser);
+        int field = -1;
+        while ((field = nextField(parser, FIELD_NAMES, field + 1)) != END_OF_OBJECT) {
+            switch (field) {
+                case ID_FIELD:
+                    id = readLong(parser);
+                    break;
+                case START_NODE_FIELD:
+                    startId = readLong(parser);
+                    break;
+                case END_NODE_FIELD:
+                    endId = readLong(parser);
+                    break;
+                case TYPE_FIELD:
+                    type = StringPool.getDefault().canonicalize(parser.nextTextValue());
+                    break;
+                case PROPERTIES_FIELD:
+                    properties = readProperties(parser);
+                    break;
+                default: skipNext(parser);
             }
         }
         return new Relationship(id, type, startId, endId, properties);
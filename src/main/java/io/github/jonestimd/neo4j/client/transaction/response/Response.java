@@ -21,9 +21,15 @@
 // SOFTWARE.
 package io.github.jonestimd.neo4j.client.transaction.response;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongConsumer;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -32,21 +38,57 @@ import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*
 
 /**
  * This class represents the results of a group of Cypher queries.  The query results are selected sequentially using
- * the {@link #next()} method.  The {@link #getResult()} method is used to retrieve the current query result.
+ * the {@link #next()} method.  The {@link #getResult()} method is used to retrieve the current query result.  The
+ * results are either streamed from a {@link JsonParser} or supplied already decoded.  A streamed response should be
+ * closed if it is not read to the end, so that the underlying stream is released.
  */
-public class Response {
+public class Response implements Closeable {
     public static final Response EMPTY = new Response();
     private final JsonParser parser;
+    private final Iterator<StatementResult> results;
+    private final StatementException error;
     private StatementResult result;
     private boolean endOfResponse = false;
+    private GraphMode graphMode = GraphMode.EAGER;
+    private long transactionExpires = -1L;
+    private LongConsumer expiresListener;
 
-    private Response() {
+    /**
+     * Create an empty response.  Also used by subclasses that supply their own results.
+     */
+    protected Response() {
         this.parser = null;
+        this.results = null;
+        this.error = null;
         this.endOfResponse = true;
     }
 
+    /**
+     * Create a response for query results that have already been decoded.
+     * @param results the query results
+     * @param error the error to throw after the last result or {@code null}
+     */
+    public Response(List<StatementResult> results, StatementException error) {
+        this(results, error, -1L);
+    }
+
+    /**
+     * Create a response for query results that have already been decoded.
+     * @param results the query results
+     * @param error the error to throw after the last result or {@code null}
+     * @param transactionExpires the expiry time of the transaction in epoch milliseconds or {@code -1}
+     */
+    public Response(List<StatementResult> results, StatementException error, long transactionExpires) {
+        this.parser = null;
+        this.results = results.iterator();
+        this.error = error;
+        this.transactionExpires = transactionExpires;
+    }
+
     public Response(JsonParser parser) throws StatementException, IOException {
         this.parser = parser;
+        this.results = null;
+        this.error = null;
         checkNextToken(parser, JsonToken.START_OBJECT);
         while (parser.nextToken() == JsonToken.FIELD_NAME) {
             if (parser.getCurrentName().equals("results")) {
@@ -54,11 +96,22 @@ public class Response {
                 break;
             }
             else if (parser.getCurrentName().equals("errors")) readErrors();
-            else readNext(parser);
+            else if (parser.getCurrentName().equals("transaction")) setTransactionExpires(readTransactionExpires(parser));
+            else skipNext(parser);
         }
         endOfResponse = parser.getCurrentToken() == JsonToken.END_OBJECT;
     }
 
+    /**
+     * Set how the graph section is handled for the rows of subsequent query results.  The default is
+     * {@link GraphMode#EAGER}.
+     * @param graphMode the graph mode
+     * @see StatementResult#setGraphMode(GraphMode)
+     */
+    public void setGraphMode(GraphMode graphMode) {
+        this.graphMode = graphMode;
+    }
+
     /**
      * Retrieve the next query result.
      * @return true if there is another result or false if there are no more results.
@@ -66,33 +119,132 @@ public class Response {
      * @throws StatementException if the query resulted in an error
      */
     public boolean next() throws StatementException, IOException {
+        if (parser == null) return nextDecoded();
+        if (nextResult()) {
+            result = new StatementResult(parser);
+            result.setGraphMode(graphMode);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skip the next query result without decoding it.  The remaining rows of the current result are also skipped.
+     * @return true if a result was skipped or false if there are no more results.
+     * @throws IOException
+     * @throws StatementException if the query resulted in an error
+     */
+    public boolean skipResult() throws StatementException, IOException {
+        if (parser == null) {
+            boolean skipped = nextDecoded();
+            result = null;
+            return skipped;
+        }
+        if (nextResult()) {
+            parser.skipChildren();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean nextDecoded() {
+        if (! endOfResponse) {
+            if (results.hasNext()) {
+                result = results.next();
+                return true;
+            }
+            result = null;
+            endOfResponse = true;
+            if (error != null) throw error;
+        }
+        return false;
+    }
+
+    private boolean nextResult() throws IOException {
         if (! endOfResponse) {
             if (result != null) {
-                while (result.next());
+                result.skipRemainingRows();
+                result = null;
             }
             switch (parser.nextToken()) {
-                case START_OBJECT:
-                    result = new StatementResult(parser);
-                    return true;
+                case START_OBJECT: return true;
                 case END_ARRAY:
                     while (parser.nextToken() == JsonToken.FIELD_NAME) {
                         if (parser.getCurrentName().equals("errors")) readErrors();
+                        else if (parser.getCurrentName().equals("transaction")) {
+                            setTransactionExpires(readTransactionExpires(parser));
+                        }
+                        else skipNext(parser);
                     }
                     break;
                 default: throw new ParseResponseException(parser.getCurrentLocation());
             }
-            result = null;
             endOfResponse = true;
         }
         return false;
     }
 
     private void readErrors() throws IOException {
+        StatementException error = readError(parser);
+        if (error != null) throw error;
+    }
+
+    /**
+     * Read the {@code errors} array of a response.
+     * @param parser the JSON parser positioned on the {@code errors} field name
+     * @return an exception for the first error or {@code null} if the array is empty
+     * @throws IOException
+     */
+    public static StatementException readError(JsonParser parser) throws IOException {
         List<Map<String, Object>> errors = readObjects(parser);
         if (! errors.isEmpty()) {
             Map<String, Object> error = errors.get(0);
-            throw new StatementException((String) error.get("code"), (String) error.get("message"));
+            return new StatementException((String) error.get("code"), (String) error.get("message"));
+        }
+        return null;
+    }
+
+    /**
+     * Read the {@code transaction} object of a response.
+     * @param parser the JSON parser positioned on the {@code transaction} field name
+     * @return the value of the {@code expires} field in epoch milliseconds or {@code -1} if it is missing or invalid
+     * @throws IOException
+     */
+    public static long readTransactionExpires(JsonParser parser) throws IOException {
+        Object expires = readObject(parser).get("expires");
+        if (expires instanceof String) {
+            try {
+                return ZonedDateTime.parse((String) expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ex) {
+                // ignore invalid date
+            }
         }
+        return -1L;
+    }
+
+    private void setTransactionExpires(long transactionExpires) {
+        this.transactionExpires = transactionExpires;
+        if (transactionExpires >= 0L && expiresListener != null) expiresListener.accept(transactionExpires);
+    }
+
+    /**
+     * Get the expiry time of the transaction from the {@code transaction} section of the response.  For a streamed
+     * response, the section follows the query results, so it is not available until the last result has been read.
+     * @return the expiry time in epoch milliseconds or {@code -1} if it has not been read
+     */
+    public long getTransactionExpires() {
+        return transactionExpires;
+    }
+
+    /**
+     * Set a listener to be notified of the expiry time of the transaction.  The listener is called immediately if the
+     * expiry time has already been read.  Otherwise, it is called when the {@code transaction} section of the response
+     * is read.
+     * @param listener the listener to receive the expiry time in epoch milliseconds
+     */
+    public void setTransactionExpiresListener(LongConsumer listener) {
+        this.expiresListener = listener;
+        if (transactionExpires >= 0L) listener.accept(transactionExpires);
     }
 
     /**
@@ -101,4 +253,13 @@ public class Response {
     public StatementResult getResult() {
         return result;
     }
+
+    /**
+     * Release the resources used by this response.  Closes the parser of a streamed response.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (parser != null) parser.close();
+    }
 }
@@ -0,0 +1,61 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.List;
+
+/**
+ * This interface receives the parts of a response from an {@link IncrementalResponseDecoder} as they are decoded.
+ * The methods are called on the thread that is feeding the decoder.
+ */
+public interface ResponseHandler {
+    /**
+     * Called when the columns of a query result have been read.
+     * @param index the index of the query result
+     * @param columns the column names
+     */
+    void onResult(int index, List<String> columns);
+
+    /**
+     * Called when a result row has been decoded.
+     * @param index the index of the query result
+     * @param row the result row
+     */
+    void onRow(int index, ResultRow row);
+
+    /**
+     * Called when the response contains an error.
+     * @param error the first error in the response
+     */
+    void onError(StatementException error);
+
+    /**
+     * Called when the {@code transaction} section of the response has been read.
+     * @param expires the expiry time of the transaction in epoch milliseconds
+     */
+    void onTransactionExpires(long expires);
+
+    /**
+     * Called after the end of the response has been reached.
+     */
+    void onComplete();
+}
@@ -22,12 +22,14 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 /**
  * This class represents a column value in a row of a query result.  The type of the column value depends on the
@@ -39,18 +41,52 @@ import com.fasterxml.jackson.core.JsonParser;
  *     <li>a {@code Map} of node or relationship properties</li>
  *     <li>a {@code List} of one of the other types</li>
  * </ul>
+ * A string value can also be written directly to a {@link ColumnWriter} as it is read, in which case the value is not
+ * available from this class.
  */
 public class ResultColumn {
     private final Object value;
+    private final boolean written;
 
     public ResultColumn(JsonParser parser) throws IOException {
         this.value = JsonReader.readNext(parser);
+        this.written = false;
+    }
+
+    /**
+     * Read a column value, writing it to {@code columnWriter} if it is a string.
+     * @param parser the JSON stream parser
+     * @param name the column name
+     * @param columnWriter the destination for a string value
+     * @throws IOException
+     */
+    public ResultColumn(JsonParser parser, String name, ColumnWriter columnWriter) throws IOException {
+        if (parser.nextToken() == JsonToken.VALUE_STRING) {
+            try (Writer writer = columnWriter.open(name)) {
+                parser.getText(writer);
+            }
+            this.value = null;
+            this.written = true;
+        }
+        else {
+            this.value = JsonReader.getValue(parser);
+            this.written = false;
+        }
+    }
+
+    /**
+     * @return true if the value was a string that was written to a {@link ColumnWriter}
+     */
+    public boolean isWritten() {
+        return written;
     }
 
     /**
      * @return the column value as a {@code String}
+     * @throws IllegalStateException if the value was written to a {@link ColumnWriter}
      */
     public Optional<String> getString() {
+        if (written) throw new IllegalStateException("Column value was written to a ColumnWriter");
         return Optional.of((String) value);
     }
 
@@ -21,28 +21,44 @@
 // SOFTWARE.
 package io.github.jonestimd.neo4j.client.transaction.response;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 
 import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
 
 /**
  * This class represents a row of a query result.  It contains the column values, column metadata, nodes and
- * relationships for the result row.
+ * relationships for the result row.  Depending on the {@link GraphMode}, the nodes and relationships may not be decoded
+ * until they are accessed.
  */
 public class ResultRow {
+    private static final JsonFactory GRAPH_JSON_FACTORY = new JsonFactory();
+    private static final SerializableString[] ROW_FIELD_NAMES = fieldNames("row", "meta", "graph");
+    private static final SerializableString[] GRAPH_FIELD_NAMES = fieldNames("nodes", "relationships");
+    private static final int ROW_FIELD = 0;
+    private static final int META_FIELD = 1;
+    private static final int GRAPH_FIELD = 2;
+    private static final int NODES_FIELD = 0;
+    private static final int RELATIONSHIPS_FIELD = 1;
     private final Map<String, ResultColumn> columns = new HashMap<>();
     private final Map<String, List<ColumnMeta>> meta = new HashMap<>();
     private List<Node> nodes = Collections.emptyList();
     private List<Relationship> relationships = Collections.emptyList();
+    // cleared after the graph is decoded, which publishes nodes and relationships to other threads
+    private volatile byte[] graphJson;
+    private volatile LongMap<Node> nodesById;
+    private volatile LongMap<Relationship> relationshipsById;
 
     /**
      * Get the value of a column in the current row.
@@ -60,58 +76,146 @@ public class ResultRow {
         return meta.get(name);
     }
 
+    /**
+     * Get the value of a path column in the current row.  The path is created from the metadata of the column, so the
+     * query must request the {@code row} result type.
+     * @param name the column name
+     * @return the path or {@code null} if the column metadata does not describe a path.  A zero length path can not
+     * be distinguished from a node column, so {@code null} is also returned for a zero length path.
+     */
+    public Path getPath(String name) {
+        return Path.create(this, meta.get(name));
+    }
+
     /**
      * Get the list of graph nodes for the current row.
      */
     public List<Node> getNodes() {
+        decodeGraph();
         return nodes;
     }
 
     /**
      * Get a map of the graph nodes for the current row.  Can be used to look up the start and end nodes of a relationship.
+     * A new map is created for each call, so use {@link #getNode(long)} for repeated lookups.
      * @return a {@link Map} of nodes keyed by the graph IDs.
+     * @see #getNode(long)
      */
     public Map<Long, Node> getNodesById() {
-        return nodes.stream().collect(Collectors.toMap(Node::getId, Function.identity()));
+        List<Node> nodes = getNodes();
+        Map<Long, Node> nodeMap = new HashMap<>(nodes.size() * 4 / 3 + 1);
+        for (Node node : nodes) nodeMap.put(node.getId(), node);
+        return nodeMap;
+    }
+
+    /**
+     * Get a graph node for the current row.
+     * @param id the graph ID of the node
+     * @return the node or {@code null} if the row does not contain the node
+     */
+    public Node getNode(long id) {
+        if (nodesById == null) nodesById = indexById(getNodes());
+        return nodesById.get(id);
+    }
+
+    /**
+     * Get a graph relationship for the current row.
+     * @param id the graph ID of the relationship
+     * @return the relationship or {@code null} if the row does not contain the relationship
+     */
+    public Relationship getRelationship(long id) {
+        if (relationshipsById == null) relationshipsById = indexById(getRelationships());
+        return relationshipsById.get(id);
+    }
+
+    private static <T extends GraphElement> LongMap<T> indexById(List<T> elements) {
+        LongMap<T> index = new LongMap<>(elements.size());
+        for (T element : elements) {
+            if (element.getId() != null) index.put(element.getId(), element);
+        }
+        return index;
     }
 
     /**
      * Get the list of graph relationships for the current row.
      */
     public List<Relationship> getRelationships() {
+        decodeGraph();
         return relationships;
     }
 
+    private void decodeGraph() {
+        byte[] json = graphJson;
+        if (json != null) {
+            try (JsonParser parser = GRAPH_JSON_FACTORY.createParser(json)) {
+                parser.nextToken();
+                readGraph(parser);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            graphJson = null;
+        }
+    }
+
     /**
-     * Read the next result row from a JSON stream.
+     * Read the next result row from a JSON stream using {@link GraphMode#EAGER}.
      * @param columnNames the query result column names
      * @param parser the JSON parser for the stream
      * @return a row of the query result
      * @throws IOException
      */
     public static ResultRow read(List<String> columnNames, JsonParser parser) throws IOException {
+        return read(columnNames, parser, GraphMode.EAGER);
+    }
+
+    /**
+     * Read the next result row from a JSON stream.
+     * @param columnNames the query result column names
+     * @param parser the JSON parser for the stream
+     * @param graphMode how to handle the graph section of the row
+     * @return a row of the query result
+     * @throws IOException
+     */
+    public static ResultRow read(List<String> columnNames, JsonParser parser, GraphMode graphMode) throws IOException {
+        return read(columnNames, parser, graphMode, Collections.emptyMap());
+    }
+
+    /**
+     * Read the next result row from a JSON stream.
+     * @param columnNames the query result column names
+     * @param parser the JSON parser for the stream
+     * @param graphMode how to handle the graph section of the row
+     * @param columnWriters the destinations for string column values that should not be decoded, keyed by column name
+     * @return a row of the query result
+     * @throws IOException
+     */
+    public static ResultRow read(List<String> columnNames, JsonParser parser, GraphMode graphMode,
+            Map<String, ColumnWriter> columnWriters) throws IOException {
         checkToken(parser, JsonToken.START_OBJECT);
         ResultRow row = new ResultRow();
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            String name = parser.getCurrentName();
-            if ("row".equals(name)) {
-                row.addColumns(columnNames, parser);
+        int field = -1;
+        while ((field = nextField(parser, ROW_FIELD_NAMES, field + 1)) != END_OF_OBJECT) {
+            switch (field) {
+                case ROW_FIELD:
+                    row.addColumns(columnNames, parser, columnWriters);
+                    break;
+                case META_FIELD:
+                    row.addMeta(columnNames, parser);
+                    break;
+                case GRAPH_FIELD:
+                    row.addGraph(parser, graphMode);
+                    break;
+                default: skipNext(parser);
             }
-            else if ("meta".equals(name)) {
-                row.addMeta(columnNames, parser);
-            }
-            else if ("graph".equals(name)) {
-                row.addGraph(parser);
-            }
-            else readNext(parser);
         }
         return row;
     }
 
-    private void addColumns(List<String> columnNames, JsonParser parser) throws IOException {
+    private void addColumns(List<String> columnNames, JsonParser parser, Map<String, ColumnWriter> columnWriters) throws IOException {
         checkNextToken(parser, JsonToken.START_ARRAY);
         for (String name : columnNames) {
-            columns.put(name, new ResultColumn(parser));
+            ColumnWriter columnWriter = columnWriters.get(name);
+            columns.put(name, columnWriter == null ? new ResultColumn(parser) : new ResultColumn(parser, name, columnWriter));
         }
         checkNextToken(parser, JsonToken.END_ARRAY);
     }
@@ -124,17 +228,35 @@ public class ResultRow {
         checkNextToken(parser, JsonToken.END_ARRAY);
     }
 
-    private void addGraph(JsonParser parser) throws IOException {
+    private void addGraph(JsonParser parser, GraphMode graphMode) throws IOException {
         checkNextToken(parser, JsonToken.START_OBJECT);
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            String name = parser.getCurrentName();
-            if ("nodes".equals(name)) {
-                nodes = Collections.unmodifiableList(readArray(parser, Node::read));
-            }
-            else if ("relationships".equals(name)) {
-                relationships = Collections.unmodifiableList(readArray(parser, Relationship::read));
+        switch (graphMode) {
+            case EAGER: readGraph(parser); break;
+            case LAZY: graphJson = copyGraph(parser); break;
+            case SKIP: parser.skipChildren(); break;
+        }
+    }
+
+    private static byte[] copyGraph(JsonParser parser) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = GRAPH_JSON_FACTORY.createGenerator(stream)) {
+            copyCurrentStructure(parser, generator);
+        }
+        return stream.toByteArray();
+    }
+
+    private void readGraph(JsonParser parser) throws IOException {
+        int field = -1;
+        while ((field = nextField(parser, GRAPH_FIELD_NAMES, field + 1)) != END_OF_OBJECT) {
+            switch (field) {
+                case NODES_FIELD:
+                    nodes = Collections.unmodifiableList(readArray(parser, Node::read));
+                    break;
+                case RELATIONSHIPS_FIELD:
+                    relationships = Collections.unmodifiableList(readArray(parser, Relationship::read));
+                    break;
+                default: skipNext(parser);
             }
-            else readNext(parser);
         }
     }
 }
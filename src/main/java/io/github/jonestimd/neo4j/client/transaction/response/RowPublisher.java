@@ -0,0 +1,213 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class publishes the rows of a {@link StatementResult} to a single Reactive Streams {@link Subscriber}.  Rows
+ * are only read from the response when the subscriber has requested them, and they are delivered on the thread that
+ * called {@link Subscription#request(long)}, so at most one row is held in memory regardless of how fast the
+ * subscriber consumes them.  Cancelling the subscription or an error {@link StatementResult#abort() aborts} the
+ * result, which closes the response stream.
+ * <p>
+ * When the rows of a result published by {@link #of(StatementResult)} end normally, the response is left positioned
+ * after the result, so the following results can still be read.  Errors reported at the end of the response are only
+ * seen by reading it to the end.  A publisher created by {@link #of(Response)} publishes the rows of the next result
+ * and then reads the rest of the response, so that the subscriber receives {@code onError} instead of
+ * {@code onComplete} if the response reports an error.  If it is cancelled before the next result has been opened,
+ * then the response is closed.
+ * @param <T> the type of the published items
+ */
+public class RowPublisher<T> implements Publisher<T> {
+    private static final Subscription EMPTY_SUBSCRIPTION = new Subscription() {
+        public void request(long n) {}
+
+        public void cancel() {}
+    };
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Response response;
+    private final StatementResult result;
+    private final Function<? super ResultRow, ? extends T> mapper;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a publisher for the rows of a query result.
+     * @param result the query result
+     */
+    public static RowPublisher<ResultRow> of(StatementResult result) {
+        return new RowPublisher<>(result, Function.identity());
+    }
+
+    /**
+     * Create a publisher for the rows of the next result of a response.  The rest of the response is read after the
+     * last row is published.
+     * @param response the response
+     */
+    public static RowPublisher<ResultRow> of(Response response) {
+        return new RowPublisher<>(response, Function.identity());
+    }
+
+    /**
+     * Create a publisher that converts the rows of a query result.
+     * @param result the query result
+     * @param mapper the function used to convert the rows
+     */
+    public RowPublisher(StatementResult result, Function<? super ResultRow, ? extends T> mapper) {
+        this(null, result, mapper);
+    }
+
+    /**
+     * Create a publisher that converts the rows of the next result of a response.  The rest of the response is read
+     * after the last row is published.
+     * @param response the response
+     * @param mapper the function used to convert the rows
+     */
+    public RowPublisher(Response response, Function<? super ResultRow, ? extends T> mapper) {
+        this(response, null, mapper);
+    }
+
+    private RowPublisher(Response response, StatementResult result, Function<? super ResultRow, ? extends T> mapper) {
+        this.response = response;
+        this.result = result;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) throw new NullPointerException("subscriber");
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new RowSubscription(subscriber));
+        }
+        else {
+            subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+            subscriber.onError(new IllegalStateException("Query result already subscribed"));
+        }
+    }
+
+    private class RowSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        private volatile IllegalArgumentException invalidRequest;
+        private boolean done = false;
+        private StatementResult current = result;
+
+        private RowSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) invalidRequest = new IllegalArgumentException("Invalid request: " + n);
+            else requested.getAndUpdate(current -> current + n < 0L ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        /**
+         * Only one thread at a time reads the result.  Calls made by other threads, or by the subscriber from
+         * {@code onNext}, are handled by the thread that is already reading.
+         */
+        private void drain() {
+            if (pending.getAndIncrement() == 0) {
+                int missed = 1;
+                do {
+                    emit();
+                    missed = pending.addAndGet(-missed);
+                } while (missed != 0);
+            }
+        }
+
+        private void emit() {
+            long emitted = 0L;
+            while (! done) {
+                if (cancelled) {
+                    abort();
+                }
+                else if (invalidRequest != null) {
+                    abort();
+                    subscriber.onError(invalidRequest);
+                }
+                else if (emitted == requested.get()) {
+                    requested.addAndGet(-emitted);
+                    return;
+                }
+                else {
+                    T item;
+                    try {
+                        if (current == null) {
+                            if (! response.next()) {
+                                done = true;
+                                subscriber.onComplete();
+                                return;
+                            }
+                            current = response.getResult();
+                        }
+                        if (! current.next()) {
+                            if (response != null) {
+                                while (response.skipResult()) {}
+                            }
+                            done = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        item = mapper.apply(current.getRow());
+                    } catch (Throwable ex) {
+                        abort();
+                        subscriber.onError(ex);
+                        return;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+            }
+        }
+
+        private void abort() {
+            done = true;
+            try {
+                if (current != null) current.abort();
+                else if (response != null) response.close();
+            } catch (IOException ex) {
+                logger.warn("error closing query result", ex);
+            }
+        }
+    }
+}
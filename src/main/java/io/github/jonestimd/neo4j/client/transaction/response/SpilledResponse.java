@@ -0,0 +1,146 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import static io.github.jonestimd.neo4j.client.transaction.response.JsonReader.*;
+
+/**
+ * This class is a {@link Response} whose body has been written to a temporary file.  The file is memory mapped, so
+ * heap use does not depend on the size of the response.  In addition to being read sequentially like any other
+ * {@link Response}, the query results can be re-read using {@link #reread()} or accessed by statement index using
+ * {@link #getResult(int)}.  The temporary file is deleted by {@link #close()}.
+ */
+public class SpilledResponse extends Response {
+    private final JsonFactory jsonFactory;
+    private final MappedFile file;
+    private List<long[]> ranges;
+
+    private SpilledResponse(JsonFactory jsonFactory, MappedFile file) throws StatementException, IOException {
+        super(jsonFactory.createParser(file.getInputStream(0L, file.getLength())));
+        this.jsonFactory = jsonFactory;
+        this.file = file;
+    }
+
+    /**
+     * Write a response body to a temporary file.
+     * @param jsonFactory factory for creating parsers
+     * @param stream the response body
+     * @param directory the directory for the temporary file or {@code null} to use the default temporary directory
+     * @return the response
+     * @throws IOException
+     * @throws StatementException if the response contains an error before the results
+     */
+    public static SpilledResponse spill(JsonFactory jsonFactory, InputStream stream, Path directory) throws StatementException, IOException {
+        return spill(jsonFactory, new MappedFile(stream, directory, MappedFile.SEGMENT_SIZE));
+    }
+
+    static SpilledResponse spill(JsonFactory jsonFactory, MappedFile file) throws StatementException, IOException {
+        try {
+            return new SpilledResponse(jsonFactory, file);
+        } catch (IOException | RuntimeException ex) {
+            file.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the size of the response body in bytes
+     */
+    public long getLength() {
+        return file.getLength();
+    }
+
+    /**
+     * Create a new response for reading the query results from the beginning.
+     * @throws IOException
+     * @throws StatementException if the response contains an error before the results
+     */
+    public Response reread() throws StatementException, IOException {
+        return new Response(jsonFactory.createParser(file.getInputStream(0L, file.getLength())));
+    }
+
+    /**
+     * Get the number of query results.  The first call scans the response body to find the query results.
+     * @throws IOException
+     */
+    public int getResultCount() throws IOException {
+        return getRanges().size();
+    }
+
+    /**
+     * Create a new query result for streaming the rows of a statement.
+     * @param index the index of the statement
+     * @throws IOException
+     * @throws IndexOutOfBoundsException if there is no result for {@code index}
+     */
+    public StatementResult getResult(int index) throws IOException {
+        long[] range = getRanges().get(index);
+        JsonParser parser = jsonFactory.createParser(file.getInputStream(range[0], range[1] - range[0]));
+        parser.nextToken();
+        return new StatementResult(parser);
+    }
+
+    private List<long[]> getRanges() throws IOException {
+        if (ranges == null) {
+            List<long[]> ranges = new ArrayList<>();
+            try (JsonParser parser = jsonFactory.createParser(file.getInputStream(0L, file.getLength()))) {
+                checkNextToken(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (parser.getCurrentName().equals("results")) {
+                        checkNextToken(parser, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            long start = parser.getTokenLocation().getByteOffset();
+                            parser.skipChildren();
+                            ranges.add(new long[] {start, parser.getCurrentLocation().getByteOffset()});
+                        }
+                        break;
+                    }
+                    else skipNext(parser);
+                }
+            }
+            this.ranges = ranges;
+        }
+        return ranges;
+    }
+
+    /**
+     * Close the parser and delete the temporary file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            file.close();
+        }
+    }
+}
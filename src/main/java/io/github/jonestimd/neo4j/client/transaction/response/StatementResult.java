@@ -23,57 +23,175 @@ package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 
 /**
  * This class represents the result of a Cypher query.  The rows are selected sequentially using the {@link #next()}
- * method.  The get methods are used to retrieve the details for the current row.
+ * method.  The get methods are used to retrieve the details for the current row.  The rows are either streamed from a
+ * {@link JsonParser} or supplied already decoded.
  */
 public class StatementResult {
+    private static final SerializableString[] FIELD_NAMES = JsonReader.fieldNames("columns", "data");
+    private static final int COLUMNS_FIELD = 0;
+    private static final int DATA_FIELD = 1;
     private final JsonParser parser;
+    private final Iterator<ResultRow> rows;
     private final List<String> columns = new ArrayList<>();
     private ResultRow row;
     private boolean endOfResult = false;
+    private GraphMode graphMode = GraphMode.EAGER;
+    private final Map<String, ColumnWriter> columnWriters = new HashMap<>();
+
+    /**
+     * Create a result for rows that have already been decoded.
+     * @param columns the column names
+     * @param rows the result rows
+     */
+    public StatementResult(List<String> columns, List<ResultRow> rows) {
+        this.parser = null;
+        this.rows = rows.iterator();
+        this.columns.addAll(columns);
+    }
 
     public StatementResult(JsonParser parser) throws IOException {
         this.parser = parser;
-        while (parser.nextToken() == JsonToken.FIELD_NAME) {
-            if (parser.getCurrentName().equals("columns")) {
+        this.rows = null;
+        int field = -1;
+        while ((field = JsonReader.nextField(parser, FIELD_NAMES, field + 1)) != JsonReader.END_OF_OBJECT) {
+            if (field == COLUMNS_FIELD) {
                 columns.addAll(JsonReader.readStrings(parser));
             }
-            else if (parser.getCurrentName().equals("data")) {
+            else if (field == DATA_FIELD) {
                 JsonReader.checkNextToken(parser, JsonToken.START_ARRAY);
                 break;
             }
             else {
-                JsonReader.readNext(parser);
+                JsonReader.skipNext(parser);
             }
         }
     }
 
+    /**
+     * Read all of the rows of a query result from a JSON stream.
+     * @param parser the JSON parser positioned at the start of the query result
+     * @param graphMode how to handle the graph section of the rows
+     * @return a result containing the decoded rows
+     * @throws IOException
+     */
+    public static StatementResult readAll(JsonParser parser, GraphMode graphMode) throws IOException {
+        StatementResult result = new StatementResult(parser);
+        result.setGraphMode(graphMode);
+        List<ResultRow> rows = new ArrayList<>();
+        while (result.next()) {
+            rows.add(result.row);
+        }
+        return new StatementResult(result.columns, rows);
+    }
+
+    /**
+     * Get the column names of this result.
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Set how the graph section is handled for subsequent rows.  The default is {@link GraphMode#EAGER}.
+     * @param graphMode the graph mode
+     */
+    public void setGraphMode(GraphMode graphMode) {
+        this.graphMode = graphMode;
+    }
+
+    /**
+     * Write the string values of a column to a {@link ColumnWriter} while the subsequent rows are read, instead of
+     * decoding them into {@code String}s.  Large values are copied from the response to the writer without creating
+     * a {@code String}.  Has no effect on results that have already been decoded.
+     * @param column the column name
+     * @param columnWriter the destination for the column values or {@code null} to decode the values
+     * @see ResultColumn#isWritten()
+     */
+    public void setColumnWriter(String column, ColumnWriter columnWriter) {
+        if (columnWriter == null) columnWriters.remove(column);
+        else columnWriters.put(column, columnWriter);
+    }
+
     /**
      * Retrieve the next result row.
      * @return true if there is another row or false if there are no more rows.
      * @throws IOException
      */
     public boolean next() throws IOException {
+        if (rows != null) {
+            row = rows.hasNext() ? rows.next() : null;
+            return row != null;
+        }
         if (! endOfResult) {
             if (parser.nextToken() == JsonToken.START_OBJECT) {
-                row = ResultRow.read(columns, parser);
+                row = ResultRow.read(columns, parser, graphMode, columnWriters);
                 return true;
             }
+            endResult();
+        }
+        return false;
+    }
+
+    /**
+     * Skip the remaining rows of this result without decoding them.
+     * @throws IOException
+     */
+    public void skipRemainingRows() throws IOException {
+        if (rows != null) {
+            while (rows.hasNext()) rows.next();
             row = null;
-            // skip additional properties in "results" array item
-            while (parser.nextToken() == JsonToken.FIELD_NAME) {
-                JsonReader.readNext(parser);
+        }
+        else if (! endOfResult) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
             }
+            endResult();
+        }
+    }
+
+    /**
+     * Stop reading this result and close the underlying response stream.  The remaining rows of this result and the
+     * remaining results of the response can not be read after this method is called.
+     * @throws IOException
+     */
+    public void abort() throws IOException {
+        row = null;
+        if (rows != null) {
+            while (rows.hasNext()) rows.next();
+        }
+        else {
             endOfResult = true;
+            parser.close();
         }
-        return false;
+    }
+
+    private void endResult() throws IOException {
+        row = null;
+        // skip additional properties in "results" array item
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonReader.skipNext(parser);
+        }
+        endOfResult = true;
+    }
+
+    /**
+     * Get the current result row.
+     * @return the current row or {@code null} if there are no more rows
+     */
+    public ResultRow getRow() {
+        return row;
     }
 
     /**
@@ -94,6 +212,16 @@ public class StatementResult {
         return row.getMeta(name);
     }
 
+    /**
+     * Get a path column value for the current result row.
+     * @param name the column name
+     * @return the path or {@code null} if the column metadata does not describe a path
+     * @see ResultRow#getPath(String)
+     */
+    public Path getPath(String name) {
+        return row.getPath(name);
+    }
+
     /**
      * Get the graph nodes for the current result row.
      * @return a {@link List} of the nodes
@@ -110,6 +238,24 @@ public class StatementResult {
         return row.getNodesById();
     }
 
+    /**
+     * Get a graph node for the current result row.
+     * @param id the graph ID of the node
+     * @return the node or {@code null} if the row does not contain the node
+     */
+    public Node getNode(long id) {
+        return row.getNode(id);
+    }
+
+    /**
+     * Get a graph relationship for the current result row.
+     * @param id the graph ID of the relationship
+     * @return the relationship or {@code null} if the row does not contain the relationship
+     */
+    public Relationship getRelationship(long id) {
+        return row.getRelationship(id);
+    }
+
     /**
      * Get the graph relationships for the current result row.
      * @return a {@link List} of the relationships
@@ -0,0 +1,129 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is used to share a single instance of strings that are repeated in query results (e.g. node labels,
+ * relationship types).  The pool is bounded by {@code maxSize}.  Once the pool is full, new strings are returned
+ * without being added to the pool.  String property values are only pooled if their length does not exceed
+ * {@code maxValueLength}.
+ */
+public class StringPool {
+    public static final int DEFAULT_MAX_SIZE = 4096;
+    public static final int DEFAULT_MAX_VALUE_LENGTH = 0;
+    private static volatile StringPool defaultPool = new StringPool(DEFAULT_MAX_SIZE, DEFAULT_MAX_VALUE_LENGTH);
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final int maxValueLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @return the pool used when parsing query results
+     */
+    public static StringPool getDefault() {
+        return defaultPool;
+    }
+
+    /**
+     * Replace the pool used when parsing query results.
+     * @param pool the new pool
+     */
+    public static void setDefault(StringPool pool) {
+        defaultPool = pool;
+    }
+
+    /**
+     * Create a string pool.
+     * @param maxSize the maximum number of strings to retain
+     * @param maxValueLength the maximum length of property values to retain ({@code 0} to disable pooling of
+     *                       property values)
+     */
+    public StringPool(int maxSize, int maxValueLength) {
+        this.maxSize = maxSize;
+        this.maxValueLength = maxValueLength;
+    }
+
+    /**
+     * Get the canonical instance of a string.
+     * @param value the string
+     * @return the pooled instance of the string or {@code value} if the pool is full
+     */
+    public String canonicalize(String value) {
+        if (value == null) return null;
+        String pooled = strings.get(value);
+        if (pooled != null) {
+            hits.increment();
+            return pooled;
+        }
+        misses.increment();
+        if (strings.size() < maxSize) {
+            pooled = strings.putIfAbsent(value, value);
+            return pooled == null ? value : pooled;
+        }
+        return value;
+    }
+
+    /**
+     * Get the canonical instance of a string property value.
+     * @param value the property value
+     * @return the pooled instance of the value or {@code value} if it is too long to be pooled
+     */
+    public String canonicalizeValue(String value) {
+        return value != null && value.length() <= maxValueLength ? canonicalize(value) : value;
+    }
+
+    /**
+     * @return the number of lookups that returned a pooled string
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find a pooled string
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of strings in the pool
+     */
+    public int size() {
+        return strings.size();
+    }
+
+    /**
+     * Remove all strings from the pool and reset the statistics.
+     */
+    public void clear() {
+        strings.clear();
+        hits.reset();
+        misses.reset();
+    }
+}
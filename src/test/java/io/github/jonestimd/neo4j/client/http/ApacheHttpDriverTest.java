@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 
+import io.github.jonestimd.neo4j.client.transaction.AccessMode;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.client.CredentialsProvider;
@@ -89,11 +90,43 @@ public class ApacheHttpDriverTest {
         assertThat(response.getHeader("header2")).isEqualTo(header.getValue());
         verify(httpResponse).getFirstHeader("header1");
         verify(httpResponse).getFirstHeader("header2");
+        assertThat(response.getContentLength()).isEqualTo(responseEntity.getContentLength());
         assertThat(getContent(response.getEntityContent())).isEqualTo("response entity");
         response.close();
         verify(httpResponse).close();
     }
 
+    @Test
+    public void postWithReadAccessModeSetsHeader() throws Exception {
+        when(client.execute(any(HttpUriRequest.class), any(HttpClientContext.class))).thenReturn(httpResponse);
+
+        driver.post(uri, "json entity", AccessMode.READ);
+
+        verify(client).execute(postCaptor.capture(), same(context));
+        HttpPost post = postCaptor.getValue();
+        assertThat(post.getFirstHeader(ApacheHttpDriver.ACCESS_MODE_HEADER).getValue()).isEqualTo("READ");
+        assertThat(getContent(post.getEntity().getContent())).isEqualTo("json entity");
+    }
+
+    @Test
+    public void postWithWriteAccessModeOmitsHeader() throws Exception {
+        when(client.execute(any(HttpUriRequest.class), any(HttpClientContext.class))).thenReturn(httpResponse);
+
+        driver.post(uri, "json entity", AccessMode.WRITE);
+
+        verify(client).execute(postCaptor.capture(), same(context));
+        assertThat(postCaptor.getValue().getFirstHeader(ApacheHttpDriver.ACCESS_MODE_HEADER)).isNull();
+    }
+
+    @Test
+    public void contentLengthIsUnknownWithoutEntity() throws Exception {
+        when(client.execute(any(HttpUriRequest.class))).thenReturn(httpResponse);
+
+        HttpResponse response = driver.delete(uri);
+
+        assertThat(response.getContentLength()).isEqualTo(-1L);
+    }
+
     @Test
     public void delete() throws Exception {
         BasicHeader header = new BasicHeader("", "header-value");
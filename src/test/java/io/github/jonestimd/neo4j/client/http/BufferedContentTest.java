@@ -0,0 +1,69 @@
+package io.github.jonestimd.neo4j.client.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class BufferedContentTest {
+    @Test
+    public void readFromCopiesEntireStream() throws Exception {
+        byte[] data = new byte[BufferedContent.CHUNK_SIZE * 3 + 17];
+        new Random().nextBytes(data);
+        BufferedContent content = new BufferedContent();
+
+        assertThat(content.readFrom(new ByteArrayInputStream(data), Long.MAX_VALUE)).isTrue();
+
+        assertThat(content.getLength()).isEqualTo(data.length);
+        assertThat(readAll(content.getInputStream())).isEqualTo(data);
+        assertThat(readAll(content.getInputStream())).isEqualTo(data);
+    }
+
+    @Test
+    public void readFromStopsAtMaxLength() throws Exception {
+        byte[] data = new byte[BufferedContent.CHUNK_SIZE * 2];
+        new Random().nextBytes(data);
+        ByteArrayInputStream stream = new ByteArrayInputStream(data);
+        BufferedContent content = new BufferedContent();
+
+        assertThat(content.readFrom(stream, BufferedContent.CHUNK_SIZE)).isFalse();
+
+        assertThat(content.getLength()).isEqualTo(BufferedContent.CHUNK_SIZE);
+        assertThat(stream.available()).isEqualTo(BufferedContent.CHUNK_SIZE);
+    }
+
+    @Test
+    public void readFromEmptyStream() throws Exception {
+        BufferedContent content = new BufferedContent();
+
+        assertThat(content.readFrom(new ByteArrayInputStream(new byte[0]), 100L)).isTrue();
+
+        assertThat(content.getLength()).isEqualTo(0L);
+        assertThat(content.getInputStream().read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void inputStreamReadsSingleBytes() throws Exception {
+        BufferedContent content = new BufferedContent();
+        content.readFrom(new ByteArrayInputStream(new byte[] {1, (byte) 0xff}), 100L);
+        InputStream stream = content.getInputStream();
+
+        assertThat(stream.available()).isEqualTo(2);
+        assertThat(stream.read()).isEqualTo(1);
+        assertThat(stream.read()).isEqualTo(0xff);
+        assertThat(stream.read()).isEqualTo(-1);
+    }
+
+    private byte[] readAll(InputStream stream) throws IOException {
+        byte[] data = new byte[stream.available()];
+        int length = 0;
+        int count;
+        while ((count = stream.read(data, length, Math.min(1000, data.length - length))) > 0) length += count;
+        assertThat(stream.read(new byte[1], 0, 1)).isEqualTo(-1);
+        return data;
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.jonestimd.neo4j.client.http;
+
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class HttpResponseTest {
+    private HttpResponse newResponse(String contentLength) {
+        return new HttpResponse() {
+            @Override
+            public String getHeader(String name) {
+                return "Content-Length".equals(name) ? contentLength : null;
+            }
+
+            @Override
+            public InputStream getEntityContent() {
+                return null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Test
+    public void getContentLengthParsesHeader() throws Exception {
+        assertThat(newResponse("1234").getContentLength()).isEqualTo(1234L);
+        assertThat(newResponse(" 56 ").getContentLength()).isEqualTo(56L);
+    }
+
+    @Test
+    public void getContentLengthReturnsMinusOneForMissingHeader() throws Exception {
+        assertThat(newResponse(null).getContentLength()).isEqualTo(-1L);
+    }
+
+    @Test
+    public void getContentLengthReturnsMinusOneForInvalidHeader() throws Exception {
+        assertThat(newResponse("abc").getContentLength()).isEqualTo(-1L);
+        assertThat(newResponse("").getContentLength()).isEqualTo(-1L);
+        assertThat(newResponse("99999999999999999999").getContentLength()).isEqualTo(-1L);
+        assertThat(newResponse("-5").getContentLength()).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.Node;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class BatchLoaderTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Transaction transaction = mock(Transaction.class);
+
+    private String row(Object key, long id) {
+        String keyJson = key instanceof String ? "\"" + key + "\"" : key.toString();
+        return "{\"row\":[" + keyJson + ",{\"itemId\":" + keyJson + "}]," +
+                "\"meta\":[null,{\"id\":" + id + ",\"type\":\"node\",\"deleted\":false}]," +
+                "\"graph\":{\"nodes\":[{\"id\":\"" + id + "\",\"labels\":[\"Item\"],\"properties\":{\"itemId\":" + keyJson + "}}]," +
+                "\"relationships\":[]}}";
+    }
+
+    private Response response(String... rows) throws IOException {
+        return new Response(jsonFactory.createParser("{\"results\":[{\"columns\":[\"k\",\"n\"],\"data\":[" +
+                String.join(",", rows) + "]}],\"errors\":[]}"));
+    }
+
+    @Test
+    public void dispatchSendsDistinctKeysInOneStatement() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(row("a", 1L), row("b", 2L)));
+        BatchLoader<String, Node> loader = BatchLoader.byProperty(transaction, "Item", "itemId", column -> column.getString().get(), 100);
+
+        CompletableFuture<Node> futureA = loader.load("a");
+        CompletableFuture<Node> futureB = loader.load("b");
+        CompletableFuture<Node> futureC = loader.load("c");
+        assertThat(loader.load("a")).isSameAs(futureA);
+        assertThat(futureA.isDone()).isFalse();
+
+        assertThat(loader.dispatch()).isEqualTo(3);
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(transaction).execute(captor.capture());
+        assertThat(captor.getValue().getQuery()).isEqualTo("UNWIND $keys AS k MATCH (n:`Item` {`itemId`: k}) RETURN k, n");
+        assertThat((List<?>) captor.getValue().getParameters().get("keys")).containsExactly("a", "b", "c");
+        assertThat(futureA.get().getId()).isEqualTo(1L);
+        assertThat(futureB.get().getId()).isEqualTo(2L);
+        assertThat(futureC.get()).isNull();
+    }
+
+    @Test
+    public void cachesLoadedValues() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(row(5, 5L)));
+        BatchLoader<Long, Node> loader = BatchLoader.byId(transaction, 100);
+        CompletableFuture<Node> future = loader.load(5L);
+        loader.dispatch();
+
+        assertThat(loader.load(5L)).isSameAs(future);
+        assertThat(loader.dispatch()).isEqualTo(0);
+        verify(transaction, times(1)).execute(anyVararg());
+        assertThat(future.get().getLabels()).containsOnly("Item");
+    }
+
+    @Test
+    public void splitsKeysIntoBatches() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(row(1, 1L), row(2, 2L)), response(row(3, 3L)));
+        BatchLoader<Long, Node> loader = BatchLoader.byId(transaction, 2);
+
+        CompletableFuture<List<Node>> future = loader.loadAll(Arrays.asList(1L, 2L, 3L));
+        loader.dispatch();
+
+        verify(transaction, times(2)).execute(anyVararg());
+        assertThat(future.get()).hasSize(3);
+        assertThat(future.get().get(2).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    public void failedKeysAreRemovedFromCache() throws Exception {
+        IOException error = new IOException("connection refused");
+        when(transaction.execute(anyVararg())).thenThrow(error).thenReturn(response(row(1, 1L)));
+        BatchLoader<Long, Node> loader = BatchLoader.byId(transaction, 100);
+
+        CompletableFuture<Node> failed = loader.load(1L);
+        loader.dispatch();
+        try {
+            failed.get();
+            fail("expected exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isSameAs(error);
+        }
+
+        CompletableFuture<Node> retry = loader.load(1L);
+        assertThat(retry).isNotSameAs(failed);
+        loader.dispatch();
+        assertThat(retry.get().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    public void clearRemovesLoadedValues() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(row(1, 1L)), response(row(1, 1L)));
+        BatchLoader<Long, Node> loader = BatchLoader.byId(transaction, 100);
+        CompletableFuture<Node> future = loader.load(1L);
+        loader.dispatch();
+
+        loader.clear();
+
+        assertThat(loader.load(1L)).isNotSameAs(future);
+        assertThat(loader.dispatch()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class ConcurrentTransactionTest {
+    private static final String ERROR_JSON = "{\"code\":\"syntax error\",\"message\":\"error message\"}";
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Transaction transaction = mock(Transaction.class, (Answer<Object>) invocation ->
+            invocation.getMethod().getReturnType() == Response.class ? Response.EMPTY : RETURNS_DEFAULTS.answer(invocation));
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final ConcurrentTransaction concurrentTransaction = new ConcurrentTransaction(transaction, tasks::add);
+
+    private Response response(int results, String error) throws Exception {
+        StringBuilder json = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"columns\":[\"c").append(i).append("\"],\"data\":[{\"row\":[").append(i).append("]}]}");
+        }
+        json.append("],\"errors\":[").append(error == null ? "" : error).append("]}");
+        return new Response(jsonFactory.createParser(json.toString()));
+    }
+
+    private Statement statement(int index) {
+        return new Statement("query " + index, null);
+    }
+
+    @Test
+    public void sendsPendingStatementsInOneRequest() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(3, null));
+
+        List<CompletableFuture<StatementResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(concurrentTransaction.submit(statement(i)));
+        }
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(transaction).execute(captor.capture(), captor.capture(), captor.capture());
+        assertThat(captor.getAllValues().get(2).getQuery()).isEqualTo("query 2");
+        for (int i = 0; i < 3; i++) {
+            StatementResult result = futures.get(i).get();
+            assertThat(result.getColumns()).containsExactly("c" + i);
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("c" + i).getNumber().get().intValue()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void limitsStatementsPerRequest() throws Exception {
+        ConcurrentTransaction concurrentTransaction = new ConcurrentTransaction(transaction, tasks::add, 2);
+        when(transaction.execute(anyVararg())).thenReturn(response(2, null), response(1, null));
+
+        CompletableFuture<StatementResult> future1 = concurrentTransaction.submit(statement(1));
+        concurrentTransaction.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = concurrentTransaction.submit(statement(3));
+        tasks.get(0).run();
+
+        verify(transaction).execute(any(Statement.class), any(Statement.class));
+        verify(transaction).execute(any(Statement.class));
+        assertThat(future1.get().getColumns()).containsExactly("c0");
+        assertThat(future3.get().getColumns()).containsExactly("c0");
+    }
+
+    @Test
+    public void statementErrorFailsRemainingStatements() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(1, ERROR_JSON));
+
+        CompletableFuture<StatementResult> future1 = concurrentTransaction.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = concurrentTransaction.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = concurrentTransaction.submit(statement(3));
+        tasks.get(0).run();
+
+        assertThat(future1.get().getColumns()).containsExactly("c0");
+        assertFailure(future2, StatementException.class);
+        assertFailure(future3, StatementException.class);
+    }
+
+    @Test
+    public void commitIncludesPendingStatements() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(1, null));
+
+        CompletableFuture<StatementResult> future = concurrentTransaction.submit(statement(1));
+        CompletableFuture<Void> commit = concurrentTransaction.commit();
+        CompletableFuture<StatementResult> rejected = concurrentTransaction.submit(statement(2));
+        tasks.get(0).run();
+
+        verify(transaction).commit(any(Statement.class));
+        verify(transaction, never()).execute(anyVararg());
+        assertThat(future.get().getColumns()).containsExactly("c0");
+        assertThat(commit.isDone()).isTrue();
+        assertFailure(rejected, IllegalStateException.class);
+    }
+
+    @Test
+    public void rollbackAfterPendingStatements() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(1, null));
+
+        CompletableFuture<StatementResult> future = concurrentTransaction.submit(statement(1));
+        CompletableFuture<Void> rollback = concurrentTransaction.rollback();
+        tasks.get(0).run();
+
+        assertThat(future.get().getColumns()).containsExactly("c0");
+        assertThat(rollback.isDone()).isTrue();
+        verify(transaction).rollback();
+    }
+
+    @Test
+    public void secondCompletionIsRejected() throws Exception {
+        CompletableFuture<Void> commit = concurrentTransaction.commit();
+        CompletableFuture<Void> rollback = concurrentTransaction.rollback();
+
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        assertThat(commit.isDone()).isTrue();
+        assertFailure(rollback, IllegalStateException.class);
+        verify(transaction).commit();
+        verify(transaction, never()).rollback();
+    }
+
+    @Test
+    public void rejectedExecutionFailsStatementAndReleasesWriter() throws Exception {
+        when(transaction.execute(anyVararg())).thenReturn(response(1, null));
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ConcurrentTransaction concurrentTransaction = new ConcurrentTransaction(transaction, task -> {
+            if (reject.getAndSet(false)) throw new RejectedExecutionException("shut down");
+            tasks.add(task);
+        });
+
+        CompletableFuture<StatementResult> rejected = concurrentTransaction.submit(statement(1));
+        CompletableFuture<StatementResult> future = concurrentTransaction.submit(statement(2));
+
+        assertFailure(rejected, RejectedExecutionException.class);
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        assertThat(future.get().getColumns()).containsExactly("c0");
+    }
+
+    @Test
+    public void requestsDoNotOverlap() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger requests = new AtomicInteger();
+        when(transaction.execute(anyVararg())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            requests.incrementAndGet();
+            Thread.sleep(1L);
+            inFlight.decrementAndGet();
+            return response(invocation.getArguments().length, null);
+        });
+        ConcurrentTransaction concurrentTransaction = new ConcurrentTransaction(transaction, Runnable::run);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<StatementResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int index = i;
+                futures.add(CompletableFuture.supplyAsync(() -> concurrentTransaction.submit(statement(index)), executor)
+                        .thenCompose(future -> future));
+            }
+            for (CompletableFuture<StatementResult> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(requests.get()).isLessThanOrEqualTo(200);
+    }
+
+    private void assertFailure(CompletableFuture<?> future, Class<? extends Throwable> type) throws Exception {
+        try {
+            future.get();
+            fail("expected exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(type);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class KeepAliveSchedulerTest {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdownExecutor() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void executorRunsTask() throws Exception {
+        KeepAliveScheduler scheduler = KeepAliveScheduler.executor(executor, 1000L);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        scheduler.schedule(latch::countDown, 10L);
+
+        assertThat(scheduler.getKeepAliveMs()).isEqualTo(1000L);
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void executorCancelsTask() throws Exception {
+        KeepAliveScheduler scheduler = KeepAliveScheduler.executor(executor, 1000L);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        scheduler.schedule(latch::countDown, 50L).cancel();
+
+        assertThat(latch.await(100, TimeUnit.MILLISECONDS)).isFalse();
+    }
+}
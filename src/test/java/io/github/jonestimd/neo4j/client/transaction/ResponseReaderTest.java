@@ -0,0 +1,133 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import io.github.jonestimd.neo4j.client.http.HttpResponse;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.SpilledResponse;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.fest.assertions.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ResponseReaderTest {
+    private static final int ROWS = 5000;
+    private final HttpResponse httpResponse = mock(HttpResponse.class);
+    private final ByteArrayInputStream entity = new ByteArrayInputStream(responseJson().getBytes());
+    private final int entityLength = entity.available();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String responseJson() {
+        StringBuilder json = new StringBuilder("{\"results\":[{\"columns\":[\"id\"],\"data\":[");
+        for (int i = 0; i < ROWS; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"row\":[").append(i).append("]}");
+        }
+        return json.append("]}],\"errors\":[]}").toString();
+    }
+
+    @Test
+    public void bufferedReadsEntireBodyWhenSmallerThanLimit() throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(entity);
+        when(httpResponse.getContentLength()).thenReturn((long) entityLength);
+
+        Response response = ResponseReader.buffered(Transaction.DEFAULT_JSON_FACTORY, entityLength).read(httpResponse);
+
+        assertThat(entity.available()).isEqualTo(0);
+        assertRows(response);
+    }
+
+    @Test
+    public void bufferedSpillsBodyWhenLengthExceedsLimit() throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(entity);
+        when(httpResponse.getContentLength()).thenReturn((long) entityLength);
+
+        try (Response response = ResponseReader.buffered(Transaction.DEFAULT_JSON_FACTORY, entityLength - 1, folder.getRoot().toPath()).read(httpResponse)) {
+            assertThat(entity.available()).isEqualTo(0);
+            assertThat(response).isInstanceOf(SpilledResponse.class);
+            assertThat(folder.getRoot().list()).hasSize(1);
+            assertRows(response);
+        }
+        assertThat(folder.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void bufferedSpillsBodyWhenLengthIsUnknown() throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(entity);
+        when(httpResponse.getContentLength()).thenReturn(-1L);
+
+        try (Response response = ResponseReader.buffered(Transaction.DEFAULT_JSON_FACTORY, 1000L, folder.getRoot().toPath()).read(httpResponse)) {
+            assertThat(entity.available()).isEqualTo(0);
+            assertThat(((SpilledResponse) response).getLength()).isEqualTo(entityLength);
+            assertRows(response);
+        }
+    }
+
+    @Test
+    public void bufferedResponseIsReadableAfterHttpResponseIsClosed() throws Exception {
+        InputStreamEntity httpEntity = new InputStreamEntity(new ByteArrayInputStream(responseJson().getBytes()), -1L);
+        InputStream content = httpEntity.getContent();
+        when(httpResponse.getEntityContent()).thenReturn(content);
+        when(httpResponse.getContentLength()).thenReturn(httpEntity.getContentLength());
+        doAnswer(invocation -> {
+            EntityUtils.consume(httpEntity);
+            return null;
+        }).when(httpResponse).close();
+
+        Response response;
+        try (HttpResponse closeable = httpResponse) {
+            response = ResponseReader.buffered(Transaction.DEFAULT_JSON_FACTORY, 1000L, folder.getRoot().toPath()).read(closeable);
+        }
+
+        assertThat(content.read()).isEqualTo(-1);
+        try {
+            assertRows(response);
+        } finally {
+            response.close();
+        }
+    }
+
+    @Test
+    public void bufferedReadsEntireBodyWhenLengthIsUnknown() throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(entity);
+        when(httpResponse.getContentLength()).thenReturn(-1L);
+
+        Response response = ResponseReader.buffered(Transaction.DEFAULT_JSON_FACTORY, entityLength).read(httpResponse);
+
+        assertThat(entity.available()).isEqualTo(0);
+        assertRows(response);
+    }
+
+    @Test
+    public void spilledWritesBodyToFile() throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(entity);
+
+        try (SpilledResponse response = (SpilledResponse) ResponseReader.spilled(Transaction.DEFAULT_JSON_FACTORY, folder.getRoot().toPath()).read(httpResponse)) {
+            assertThat(entity.available()).isEqualTo(0);
+            assertThat(response.getLength()).isEqualTo(entityLength);
+            assertThat(folder.getRoot().list()).hasSize(1);
+            assertRows(response);
+            assertRows(response.reread());
+        }
+        assertThat(folder.getRoot().list()).isEmpty();
+    }
+
+    private void assertRows(Response response) throws Exception {
+        assertThat(response.next()).isTrue();
+        StatementResult result = response.getResult();
+        for (int i = 0; i < ROWS; i++) {
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("id").getNumber().get().intValue()).isEqualTo(i);
+        }
+        assertThat(result.next()).isFalse();
+        assertThat(response.next()).isFalse();
+    }
+}
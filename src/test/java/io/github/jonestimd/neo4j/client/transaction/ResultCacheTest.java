@@ -0,0 +1,194 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.ByteArrayInputStream;
+
+import io.github.jonestimd.neo4j.client.http.HttpResponse;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import org.junit.Test;
+
+import static java.util.Collections.*;
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class ResultCacheTest {
+    private static final String RESULT_JSON = "{\"columns\":[\"name\"],\"data\":[{\"row\":[\"Canada\"]},{\"row\":[\"Mexico\"]}]}";
+    private static final String RESPONSE_JSON = "{\"results\":[" + RESULT_JSON + "],\"errors\":[]}";
+    private final Statement statement = new Statement("match (c:Country) return c.name as name", singletonMap("p", 1));
+    private final Statement uncached = new Statement("create (c:Country)", emptyMap());
+    private final HttpResponse httpResponse = mock(HttpResponse.class);
+    private long now = 1000L;
+
+    private ResultCache newCache(int maxEntries, long maxBytes) {
+        return new ResultCache(maxEntries, maxBytes, statement -> statement == uncached ? 0L : 100L, () -> now);
+    }
+
+    private Response read(ResultCache cache, String json, Statement... statements) throws Exception {
+        when(httpResponse.getEntityContent()).thenReturn(new ByteArrayInputStream(json.getBytes()));
+        return cache.reader(Transaction.DEFAULT_JSON_FACTORY, statements).read(httpResponse);
+    }
+
+    @Test
+    public void getReturnsNullForMissingStatement() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+
+        assertThat(cache.get(statement)).isNull();
+
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+        assertThat(cache.getHitCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void getReturnsNullForUncacheableStatement() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+
+        assertThat(cache.get(uncached)).isNull();
+
+        assertThat(cache.getMissCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void getCountsMissesPerStatement() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+        Statement statement2 = new Statement("query 2", null);
+        read(cache, RESPONSE_JSON, statement);
+
+        assertThat(cache.get(statement, statement2)).isNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void readCachesResults() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+
+        assertNames(read(cache, RESPONSE_JSON, statement));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getBytes()).isEqualTo(RESULT_JSON.length());
+        assertNames(cache.get(statement));
+        assertNames(cache.get(new Statement(statement.getQuery(), singletonMap("p", 1))));
+        assertThat(cache.get(new Statement(statement.getQuery(), singletonMap("p", 2)))).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(2L);
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+        assertThat(cache.getHitRate()).isEqualTo(2d / 3d);
+    }
+
+    @Test
+    public void cacheHitsReturnNewRows() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+        String json = "{\"results\":[{\"columns\":[\"list\",\"map\"],\"data\":[{\"row\":[[1,2],{\"a\":\"b\"}]}]}],\"errors\":[]}";
+        Response response = read(cache, json, statement);
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+        response.getResult().getColumn("list").getList().clear();
+
+        Response first = cache.get(statement);
+        assertThat(first.next()).isTrue();
+        assertThat(first.getResult().next()).isTrue();
+        first.getResult().getColumn("map").getProperties().clear();
+        Response second = cache.get(statement);
+
+        assertThat(second.next()).isTrue();
+        assertThat(second.getResult().next()).isTrue();
+        assertThat(second.getResult().getColumn("list").getList()).containsExactly(1L, 2L);
+        assertThat(second.getResult().getColumn("map").getProperties()).hasSize(1);
+        assertThat(second.getResult().getRow()).isNotSameAs(first.getResult().getRow());
+    }
+
+    @Test
+    public void readDoesNotCacheUncacheableStatements() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+
+        read(cache, "{\"results\":[" + RESULT_JSON + "," + RESULT_JSON + "],\"errors\":[]}", statement, uncached);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(statement, uncached)).isNull();
+    }
+
+    @Test
+    public void readDoesNotCacheErrorResponse() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+        Response response = read(cache, "{\"results\":[" + RESULT_JSON + "],\"errors\":[{\"code\":\"code\",\"message\":\"message\"}]}", statement);
+
+        assertThat(response.next()).isTrue();
+        try {
+            response.next();
+            fail("expected an exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("code");
+        }
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test(expected = StatementException.class)
+    public void readThrowsErrorBeforeResults() throws Exception {
+        read(newCache(10, 10000L), "{\"errors\":[{\"code\":\"code\",\"message\":\"message\"}],\"results\":[]}", statement);
+    }
+
+    @Test
+    public void expiredEntriesAreRemoved() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+        read(cache, RESPONSE_JSON, statement);
+
+        now += 100L;
+
+        assertThat(cache.get(statement)).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getBytes()).isEqualTo(0L);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntry() throws Exception {
+        ResultCache cache = newCache(2, 10000L);
+        Statement statement2 = new Statement("query 2", null);
+        Statement statement3 = new Statement("query 3", null);
+        read(cache, RESPONSE_JSON, statement);
+        read(cache, RESPONSE_JSON, statement2);
+        cache.get(statement);
+
+        read(cache, RESPONSE_JSON, statement3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(statement)).isNotNull();
+        assertThat(cache.get(statement2)).isNull();
+        assertThat(cache.get(statement3)).isNotNull();
+    }
+
+    @Test
+    public void evictsEntriesToLimitBytes() throws Exception {
+        ResultCache cache = newCache(10, RESULT_JSON.length() * 2);
+        read(cache, RESPONSE_JSON, statement);
+        read(cache, RESPONSE_JSON, new Statement("query 2", null));
+
+        read(cache, RESPONSE_JSON, new Statement("query 3", null));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getBytes()).isEqualTo(RESULT_JSON.length() * 2);
+        assertThat(cache.get(statement)).isNull();
+    }
+
+    @Test
+    public void clear() throws Exception {
+        ResultCache cache = newCache(10, 10000L);
+        read(cache, RESPONSE_JSON, statement);
+
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getBytes()).isEqualTo(0L);
+    }
+
+    private void assertNames(Response response) throws Exception {
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("name").getString().get()).isEqualTo("Canada");
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("name").getString().get()).isEqualTo("Mexico");
+        assertThat(response.getResult().next()).isFalse();
+        assertThat(response.next()).isFalse();
+    }
+}
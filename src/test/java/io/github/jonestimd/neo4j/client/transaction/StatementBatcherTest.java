@@ -0,0 +1,234 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementResult;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class StatementBatcherTest {
+    private static final String ERROR_JSON = "{\"code\":\"Neo.ClientError.Statement.SyntaxError\",\"message\":\"error message\"}";
+    private static final String REQUEST_ERROR_JSON = "{\"code\":\"Neo.ClientError.Request.InvalidFormat\",\"message\":\"invalid request\"}";
+    private static final String COMMIT_ERROR_JSON =
+            "{\"code\":\"Neo.DatabaseError.Transaction.TransactionCommitFailed\",\"message\":\"commit failed\"}";
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Transaction transaction = mock(Transaction.class);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdownExecutor() throws Exception {
+        executor.shutdownNow();
+    }
+
+    private Response response(int results, String error) throws Exception {
+        StringBuilder json = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"columns\":[\"c").append(i).append("\"],\"data\":[]}");
+        }
+        json.append("],\"errors\":[").append(error == null ? "" : error).append("]}");
+        return new Response(jsonFactory.createParser(json.toString()));
+    }
+
+    private Statement statement(int index) {
+        return new Statement("MATCH (n) RETURN " + index, null);
+    }
+
+    @Test
+    public void sendsStatementsInWindowAsOneCommit() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(3, null));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 50L, 100);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = batcher.submit(statement(3));
+
+        assertThat(future1.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c0");
+        assertThat(future2.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c1");
+        assertThat(future3.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c2");
+        verify(transaction).setAccessMode(AccessMode.READ);
+        verify(transaction).commit(any(Statement.class), any(Statement.class), any(Statement.class));
+    }
+
+    @Test
+    public void sendsFullBatchWithoutWaiting() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(2, null));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 2);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+
+        assertThat(future1.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c0");
+        assertThat(future2.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c1");
+    }
+
+    @Test
+    public void flushSendsPendingStatements() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(1, null));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 100);
+
+        CompletableFuture<StatementResult> future = batcher.submit(statement(1));
+        batcher.flush();
+
+        assertThat(future.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c0");
+    }
+
+    @Test
+    public void isolatesStatementError() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(1, ERROR_JSON), response(1, null));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 3);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = batcher.submit(statement(3));
+
+        assertThat(future1.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c0");
+        try {
+            future2.get(1, TimeUnit.SECONDS);
+            fail("expected exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(StatementException.class);
+        }
+        assertThat(future3.get(1, TimeUnit.SECONDS).getColumns()).containsExactly("c0");
+        verify(transaction).commit(any(Statement.class), any(Statement.class), any(Statement.class));
+        verify(transaction).commit(any(Statement.class));
+    }
+
+    @Test
+    public void requestErrorFailsAllStatements() throws Exception {
+        when(transaction.commit(anyVararg())).thenThrow(new IOException("connection refused"));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 2);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+
+        for (CompletableFuture<StatementResult> future : Arrays.asList(future1, future2)) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                fail("expected exception");
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause().getMessage()).isEqualTo("connection refused");
+            }
+        }
+    }
+
+    @Test
+    public void rejectedWindowTimerFailsStatement() throws Exception {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        RejectedExecutionException rejected = new RejectedExecutionException("rejected");
+        when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenThrow(rejected).thenReturn(null);
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 100);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+
+        assertRejected(future1, rejected);
+        assertThat(future2.isDone()).isFalse();
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void rejectedBatchFailsAllStatements() throws Exception {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        RejectedExecutionException rejected = new RejectedExecutionException("rejected");
+        doThrow(rejected).when(executor).execute(any(Runnable.class));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 2);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = batcher.submit(statement(3));
+        batcher.flush();
+
+        assertRejected(future1, rejected);
+        assertRejected(future2, rejected);
+        assertRejected(future3, rejected);
+        verifyZeroInteractions(transaction);
+    }
+
+    private void assertRejected(CompletableFuture<StatementResult> future, RejectedExecutionException rejected) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("expected exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isSameAs(rejected);
+        }
+    }
+
+    @Test
+    public void requestLevelErrorFailsAllStatements() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(1, REQUEST_ERROR_JSON));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 3);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+        CompletableFuture<StatementResult> future3 = batcher.submit(statement(3));
+
+        assertFailed("invalid request", future1, future2, future3);
+        verify(transaction).commit(anyVararg());
+    }
+
+    @Test
+    public void trailingErrorFailsAllStatements() throws Exception {
+        when(transaction.commit(anyVararg())).thenReturn(response(2, COMMIT_ERROR_JSON));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 2);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+
+        assertFailed("commit failed", future1, future2);
+        verify(transaction).commit(anyVararg());
+    }
+
+    @Test
+    public void truncatedResponseFailsAllStatements() throws Exception {
+        String json = "{\"results\":[{\"columns\":[\"c0\"],\"data\":[{\"row\":[1]}";
+        when(transaction.commit(anyVararg())).thenReturn(new Response(jsonFactory.createParser(json)));
+        StatementBatcher batcher = new StatementBatcher(() -> transaction, executor, 60000L, 2);
+
+        CompletableFuture<StatementResult> future1 = batcher.submit(statement(1));
+        CompletableFuture<StatementResult> future2 = batcher.submit(statement(2));
+
+        for (CompletableFuture<StatementResult> future : Arrays.asList(future1, future2)) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                fail("expected exception");
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(IOException.class);
+            }
+        }
+        verify(transaction).commit(anyVararg());
+    }
+
+    @SafeVarargs
+    private final void assertFailed(String message, CompletableFuture<StatementResult>... futures) throws Exception {
+        for (CompletableFuture<StatementResult> future : futures) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                fail("expected exception");
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(StatementException.class);
+                assertThat(ex.getCause().getMessage()).isEqualTo(message);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWriteStatement() throws Exception {
+        new StatementBatcher(() -> transaction, executor, 50L, 100).submit(new Statement("CREATE (n)", null));
+    }
+}
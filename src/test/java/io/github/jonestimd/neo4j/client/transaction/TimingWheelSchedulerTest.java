@@ -0,0 +1,172 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.neo4j.client.transaction.KeepAliveScheduler.ScheduledTask;
+import org.junit.Test;
+
+import static java.util.Collections.*;
+import static org.fest.assertions.Assertions.*;
+
+public class TimingWheelSchedulerTest {
+    private final List<String> events = new ArrayList<>();
+    private final TimingWheelScheduler scheduler = new TimingWheelScheduler(100L, 10L, 8, new DirectExecutorService());
+
+    private Runnable task(String name) {
+        return () -> events.add(name);
+    }
+
+    private void tick(int count) {
+        for (int i = 0; i < count; i++) scheduler.tick();
+    }
+
+    @Test
+    public void runsTaskAfterDelay() throws Exception {
+        scheduler.schedule(task("a"), 25L);
+        scheduler.schedule(task("b"), 10L);
+        scheduler.schedule(task("c"), 0L);
+        assertThat(scheduler.getPendingCount()).isEqualTo(3);
+
+        tick(1);
+        assertThat(events).containsExactly("b", "c");
+        tick(1);
+        assertThat(events).containsExactly("b", "c");
+        tick(1);
+
+        assertThat(events).containsExactly("b", "c", "a");
+        assertThat(scheduler.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void runsTaskAfterMultipleRounds() throws Exception {
+        scheduler.schedule(task("a"), 170L);
+        scheduler.schedule(task("b"), 90L);
+
+        tick(9);
+        assertThat(events).containsExactly("b");
+        tick(7);
+        assertThat(events).containsExactly("b");
+        tick(1);
+
+        assertThat(events).containsExactly("b", "a");
+    }
+
+    @Test
+    public void cancelRemovesTask() throws Exception {
+        ScheduledTask task = scheduler.schedule(task("a"), 20L);
+        scheduler.schedule(task("b"), 20L);
+
+        task.cancel();
+        task.cancel();
+
+        assertThat(scheduler.getPendingCount()).isEqualTo(1);
+        tick(2);
+        assertThat(events).containsExactly("b");
+    }
+
+    @Test
+    public void cancelAfterRunHasNoEffect() throws Exception {
+        ScheduledTask task = scheduler.schedule(task("a"), 10L);
+        tick(1);
+
+        task.cancel();
+
+        assertThat(events).containsExactly("a");
+        assertThat(scheduler.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void tickContinuesAfterTaskException() throws Exception {
+        scheduler.schedule(() -> {
+            throw new IllegalStateException("task error");
+        }, 10L);
+        scheduler.schedule(task("b"), 10L);
+
+        tick(1);
+
+        assertThat(events).containsExactly("b");
+        assertThat(scheduler.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void tickContinuesAfterRejectedTask() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(100L, 10L, 8, new DirectExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        });
+        scheduler.schedule(task("a"), 10L);
+        scheduler.schedule(task("b"), 20L);
+
+        scheduler.tick();
+        scheduler.tick();
+
+        assertThat(events).isEmpty();
+        assertThat(scheduler.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void getKeepAliveMs() throws Exception {
+        assertThat(scheduler.getKeepAliveMs()).isEqualTo(100L);
+        assertThat(scheduler.getQueuedCount()).isEqualTo(-1);
+        assertThat(scheduler.getActiveCount()).isEqualTo(-1);
+    }
+
+    @Test
+    public void runsTasksOnPingThreads() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(100L, 5L, 16, 2);
+        try {
+            CountDownLatch latch = new CountDownLatch(2);
+            List<String> threads = synchronizedList(new ArrayList<>());
+            Runnable task = () -> {
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            };
+            scheduler.schedule(task, 10L);
+            scheduler.schedule(task, 20L);
+
+            assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(threads.get(0)).startsWith("keep-alive-ping-");
+            assertThat(scheduler.getQueuedCount()).isEqualTo(0);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static class DirectExecutorService extends AbstractExecutorService {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package io.github.jonestimd.neo4j.client.transaction;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.github.jonestimd.neo4j.client.http.HttpDriver;
+import io.github.jonestimd.neo4j.client.transaction.response.Response;
 import junit.framework.Assert;
 import org.junit.Test;
+import org.mockito.stubbing.Answer;
 
 import static org.fest.assertions.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -14,10 +25,21 @@ public class TransactionManagerTest {
     @SuppressWarnings("unchecked")
     private TransactionCallback<Long> callback = mock(TransactionCallback.class);
     private TransactionConsumer consumer = mock(TransactionConsumer.class);
-    private Transaction transaction = mock(Transaction.class);
+    private Transaction transaction = mock(Transaction.class, (Answer<Object>) invocation ->
+            invocation.getMethod().getReturnType() == Response.class ? Response.EMPTY : RETURNS_DEFAULTS.answer(invocation));
 
     private TransactionManager transactionManager = new TransactionManager(() -> transaction);
 
+    @Test
+    public void doInTransactionClosesCommitResponse() throws Exception {
+        Response response = mock(Response.class);
+        when(transaction.commit()).thenReturn(response);
+
+        transactionManager.doInTransaction(callback);
+
+        verify(response).close();
+    }
+
     @Test
     public void doInTransactionCommitsIfNotComplete() throws Exception {
         long result = new Random().nextLong();
@@ -159,4 +181,181 @@ public class TransactionManagerTest {
 
         assertThat(TransactionManager.getTransaction()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void doInTransactionSetsLazyBegin() throws Exception {
+        transactionManager.setLazyBegin(true);
+
+        transactionManager.doInTransaction(callback);
+
+        verify(transaction).setLazyBegin(true);
+    }
+
+    @Test
+    public void doInReadTransactionSetsAccessMode() throws Exception {
+        transactionManager.doInReadTransaction(callback);
+
+        verify(transaction).setAccessMode(AccessMode.READ);
+        verify(callback).apply(transaction);
+        verify(transaction).commit();
+    }
+
+    @Test
+    public void runInReadTransactionPassesTransactionToConsumer() throws Exception {
+        transactionManager.runInReadTransaction(consumer);
+
+        verify(transaction).setAccessMode(AccessMode.READ);
+        verify(consumer).accept(transaction);
+    }
+
+    @Test
+    public void doInTransactionRejectsWriteWithinReadTransaction() throws Exception {
+        when(transaction.getAccessMode()).thenReturn(AccessMode.READ);
+
+        transactionManager.doInReadTransaction(tx -> {
+            assertThat(transactionManager.doInReadTransaction(callback)).isNull();
+            try {
+                transactionManager.doInTransaction(callback);
+                Assert.fail("expected exception");
+            } catch (IllegalStateException ex) {
+                assertThat(ex.getMessage()).isEqualTo(TransactionManager.READ_ONLY_ERROR);
+            }
+            return null;
+        });
+
+        verify(callback).apply(transaction);
+    }
+
+    @Test
+    public void doInTransactionAsyncCommitsWhenStageCompletes() throws Exception {
+        CompletableFuture<Long> stage = new CompletableFuture<>();
+
+        CompletableFuture<Long> future = transactionManager.doInTransactionAsync(scope -> {
+            assertThat(scope.getTransaction()).isSameAs(transaction);
+            assertThat(TransactionManager.getTransaction()).isSameAs(transaction);
+            return stage;
+        });
+
+        assertThat(TransactionManager.getTransaction()).isNull();
+        assertThat(future.isDone()).isFalse();
+        verify(transaction, never()).commit();
+        stage.complete(1L);
+        assertThat(future.get()).isEqualTo(1L);
+        verify(transaction).commit();
+        verify(transaction, never()).rollback();
+    }
+
+    @Test
+    public void doInTransactionAsyncRollsBackWhenStageFails() throws Exception {
+        CompletableFuture<Long> stage = new CompletableFuture<>();
+        Exception error = new Exception("stage error");
+
+        CompletableFuture<Long> future = transactionManager.doInTransactionAsync(scope -> stage);
+        stage.completeExceptionally(error);
+
+        try {
+            future.get();
+            Assert.fail("expected exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isSameAs(error);
+        }
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+    }
+
+    @Test
+    public void doInTransactionAsyncRollsBackWhenCallbackThrows() throws Exception {
+        Exception error = new Exception("callback error");
+
+        CompletableFuture<Long> future = transactionManager.doInTransactionAsync(scope -> {
+            throw error;
+        });
+
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        verify(transaction).rollback();
+        assertThat(TransactionManager.getTransaction()).isNull();
+    }
+
+    @Test
+    public void doInTransactionAsyncUsesExistingTransaction() throws Exception {
+        transactionManager.runInTransaction(tx -> {
+            CompletableFuture<Long> future = transactionManager.doInTransactionAsync(scope -> {
+                assertThat(scope.getTransaction()).isSameAs(transaction);
+                return CompletableFuture.completedFuture(1L);
+            });
+            assertThat(future.get()).isEqualTo(1L);
+            verify(transaction, never()).commit();
+        });
+
+        verify(transaction).commit();
+    }
+
+    @Test
+    public void submitRunsTransactionOnExecutor() throws Exception {
+        ExecutorService executor = TransactionManager.newPerTaskExecutor();
+        try {
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Boolean> future = transactionManager.submit(executor, tx -> {
+                assertThat(TransactionManager.getTransaction()).isSameAs(transaction);
+                return Thread.currentThread() != caller;
+            });
+
+            assertThat(future.get(1, TimeUnit.SECONDS)).isTrue();
+            verify(transaction).commit();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void submitDoesNotJoinTransactionOfExecutingThread() throws Exception {
+        transactionManager.runInTransaction(tx -> {
+            CompletableFuture<Boolean> future = transactionManager.submit(Runnable::run, inner -> true);
+
+            assertThat(future.get()).isTrue();
+            verify(transaction).commit();
+            assertThat(TransactionManager.getTransaction()).isSameAs(tx);
+        });
+
+        verify(transaction, times(2)).commit();
+    }
+
+    @Test
+    public void doInTransactionsReturnsResultsInOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<TransactionCallback<Integer>> callbacks = Arrays.asList(tx -> 1, tx -> 2, tx -> 3);
+
+            assertThat(transactionManager.doInTransactions(executor, callbacks)).containsExactly(1, 2, 3);
+            verify(transaction, times(3)).commit();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void doInTransactionsWaitsForAllTasksAndThrowsFirstError() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean completed = new AtomicBoolean();
+        Exception error1 = new Exception("error 1");
+        Exception error2 = new Exception("error 2");
+        try {
+            List<TransactionCallback<Integer>> callbacks = Arrays.asList(
+                    tx -> { throw error1; },
+                    tx -> { latch.await(); throw error2; },
+                    tx -> { latch.countDown(); Thread.sleep(50L); completed.set(true); return 3; });
+
+            try {
+                transactionManager.doInTransactions(executor, callbacks);
+                Assert.fail("expected exception");
+            } catch (Exception ex) {
+                assertThat(ex).isSameAs(error1);
+                assertThat(ex.getSuppressed()).containsOnly(error2);
+            }
+            assertThat(completed.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
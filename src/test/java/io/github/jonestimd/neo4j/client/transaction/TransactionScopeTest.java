@@ -0,0 +1,55 @@
+package io.github.jonestimd.neo4j.client.transaction;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionScopeTest {
+    private final Transaction transaction = mock(Transaction.class);
+    private final TransactionScope scope = new TransactionScope(transaction);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdownExecutor() throws Exception {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void callBindsTransactionToCurrentThread() throws Exception {
+        Transaction result = scope.call(tx -> {
+            assertThat(tx).isSameAs(transaction);
+            return TransactionManager.getTransaction();
+        });
+
+        assertThat(result).isSameAs(transaction);
+        assertThat(TransactionManager.getTransaction()).isNull();
+    }
+
+    @Test
+    public void callRestoresPreviousTransaction() throws Exception {
+        Transaction outer = mock(Transaction.class);
+
+        new TransactionScope(outer).run(tx -> {
+            scope.run(inner -> assertThat(TransactionManager.getTransaction()).isSameAs(transaction));
+            assertThat(TransactionManager.getTransaction()).isSameAs(outer);
+        });
+
+        assertThat(TransactionManager.getTransaction()).isNull();
+    }
+
+    @Test
+    public void wrappedExecutorBindsTransactionToTaskThread() throws Exception {
+        CompletableFuture<Transaction> future = CompletableFuture.supplyAsync(TransactionManager::getTransaction, scope.wrap(executor));
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isSameAs(transaction);
+        assertThat(CompletableFuture.supplyAsync(TransactionManager::getTransaction, executor).get(1, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -1,19 +1,30 @@
 package io.github.jonestimd.neo4j.client.transaction;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Timer;
+import java.util.concurrent.CountDownLatch;
 
 import io.github.jonestimd.neo4j.client.http.HttpDriver;
 import io.github.jonestimd.neo4j.client.http.HttpResponse;
 import io.github.jonestimd.neo4j.client.transaction.request.Statement;
+import io.github.jonestimd.neo4j.client.transaction.response.ParallelResponseDecoder;
 import io.github.jonestimd.neo4j.client.transaction.response.Response;
+import io.github.jonestimd.neo4j.client.transaction.response.StatementException;
 import org.junit.Test;
 import org.mockito.stubbing.Answer;
 
 import static java.util.Collections.*;
 import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class TransactionTest {
@@ -78,6 +89,99 @@ public class TransactionTest {
         verify(httpResponse, times(2)).close();
     }
 
+    @Test
+    public void executeUsesResponseReader() throws Exception {
+        Response expected = new Response(emptyList(), null);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        transaction.setResponseReader(httpResponse -> expected);
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(response).isSameAs(expected);
+        verify(httpDriver).post(BASE_URL, STATEMENTS_JSON);
+        verify(httpResponse).close();
+    }
+
+    @Test
+    public void executeWithParallelResponseReader() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        transaction.setResponseReader(ResponseReader.parallel(new ParallelResponseDecoder(Transaction.DEFAULT_JSON_FACTORY)));
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isFalse();
+        assertThat(response.next()).isFalse();
+        verify(httpResponse).close();
+    }
+
+    @Test
+    public void executeWithResultCache() throws Exception {
+        when(httpDriver.post(anyString(), anyString(), any(AccessMode.class))).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        ResultCache cache = new ResultCache(10, 10000L, statement -> 1000L);
+        transaction.setResultCache(cache);
+        transaction.setAccessMode(AccessMode.READ);
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isFalse();
+        assertThat(response.next()).isFalse();
+        verify(httpDriver).post(BASE_URL, STATEMENTS_JSON, AccessMode.READ);
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void executeIgnoresResultCacheInWriteMode() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        ResultCache cache = new ResultCache(10, 10000L, statement -> 1000L);
+        transaction.setResultCache(cache);
+
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        verify(httpDriver, times(2)).post(BASE_URL, STATEMENTS_JSON);
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getMissCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void executeIgnoresResultCacheAfterWriteMode() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpDriver.post(anyString(), anyString(), any(AccessMode.class))).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        ResultCache cache = new ResultCache(10, 10000L, statement -> 1000L);
+        transaction.setResultCache(cache);
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        transaction.setAccessMode(AccessMode.READ);
+
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void executeUsesResponseReaderForUncacheableStatements() throws Exception {
+        ResponseReader reader = mock(ResponseReader.class);
+        Response expected = new Response(emptyList(), null);
+        when(httpDriver.post(anyString(), anyString(), any(AccessMode.class))).thenReturn(httpResponse);
+        when(reader.read(httpResponse)).thenReturn(expected);
+        ResultCache cache = new ResultCache(10, 10000L, statement -> 0L);
+        transaction.setResponseReader(reader);
+        transaction.setResultCache(cache);
+        transaction.setAccessMode(AccessMode.READ);
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(response).isSameAs(expected);
+        assertThat(cache.getMissCount()).isEqualTo(0L);
+    }
+
     @Test
     public void rollbackUnusedTransactionReturnsEmptyResponse() throws Exception {
         Response response = transaction.rollback();
@@ -156,6 +260,141 @@ public class TransactionTest {
         verify(httpResponse, times(2)).close();
     }
 
+    @Test
+    public void executeSendsDeferredStatements() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getEntityContent()).thenReturn(new ByteArrayInputStream(
+                "{\"results\":[{\"columns\":[\"a\"],\"data\":[]},{\"columns\":[\"b\"],\"data\":[]}],\"errors\":[]}".getBytes()));
+        transaction.enqueue(new Statement("deferred query", emptyMap()));
+        assertThat(transaction.getDeferredCount()).isEqualTo(1);
+        verifyZeroInteractions(httpDriver);
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        assertThat(transaction.getDeferredCount()).isEqualTo(0);
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().getColumns()).containsExactly("b");
+        assertThat(response.next()).isFalse();
+        verify(httpDriver).post(BASE_URL, "{\"statements\":[{\"statement\":\"deferred query\"," +
+                "\"resultDataContents\":[\"row\",\"graph\"]}," + STATEMENTS_JSON.substring(15));
+    }
+
+    @Test
+    public void commitThrowsErrorFromDeferredStatement() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenReturn(new ByteArrayInputStream(ERROR_RESPONSE_JSON.getBytes()));
+        transaction.enqueue(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        try {
+            transaction.commit();
+            fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("syntax error");
+        }
+
+        assertThat(transaction.isComplete()).isTrue();
+        verify(httpDriver).post(BASE_URL + "/commit", STATEMENTS_JSON);
+    }
+
+    @Test
+    public void executeClosesResponseWhenDeferredStatementFails() throws Exception {
+        ResponseReader reader = mock(ResponseReader.class);
+        Response response = mock(Response.class);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(reader.read(httpResponse)).thenReturn(response);
+        when(response.skipResult()).thenThrow(new StatementException("code", "message"));
+        transaction.setResponseReader(reader);
+        transaction.enqueue(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        try {
+            transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+            fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("code");
+        }
+
+        verify(response).close();
+    }
+
+    @Test
+    public void rollbackDiscardsDeferredStatements() throws Exception {
+        transaction.enqueue(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        Response response = transaction.rollback();
+
+        assertThat(response.next()).isFalse();
+        assertThat(transaction.getDeferredCount()).isEqualTo(0);
+        verifyZeroInteractions(httpDriver);
+    }
+
+    @Test
+    public void lazyBeginSendsHeldStatementsWithCommit() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        transaction.setLazyBegin(true);
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        verifyZeroInteractions(httpDriver);
+        assertThat(transaction.commit().next()).isFalse();
+
+        assertThat(transaction.isComplete()).isTrue();
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().getColumns()).isEmpty();
+        assertThat(response.next()).isFalse();
+        verify(httpDriver).post(BASE_URL + "/commit", STATEMENTS_JSON);
+        verifyNoMoreInteractions(httpDriver);
+    }
+
+    @Test
+    public void lazyBeginSendsHeldStatementsWhenResultsAreRead() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getEntityContent())
+                .thenReturn(new ByteArrayInputStream(RESPONSE_JSON.getBytes()))
+                .thenReturn(new ByteArrayInputStream(EMPTY_RESPONSE_JSON.getBytes()));
+        transaction.setLazyBegin(true);
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        assertThat(response.next()).isTrue();
+        verify(httpDriver).post(BASE_URL, STATEMENTS_JSON);
+        transaction.commit();
+
+        verify(httpDriver).post(BASE_URL + "/1/commit", "{\"statements\":[]}");
+    }
+
+    @Test
+    public void lazyBeginThrowsErrorFromHeldStatementsOnCommit() throws Exception {
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getEntityContent()).thenReturn(new ByteArrayInputStream(ERROR_RESPONSE_JSON.getBytes()));
+        transaction.setLazyBegin(true);
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        try {
+            transaction.commit();
+            fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("syntax error");
+        }
+
+        try {
+            response.next();
+            fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("syntax error");
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lazyBeginDiscardsHeldStatementsOnRollback() throws Exception {
+        transaction.setLazyBegin(true);
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        transaction.rollback();
+        verifyZeroInteractions(httpDriver);
+
+        response.next();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void commitThrowsExceptionWhenTransactionIsComplete() throws Exception {
         when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
@@ -232,4 +471,173 @@ public class TransactionTest {
         verify(httpDriver, timeout(60).atLeast(2)).post(BASE_URL + "/1", "{\"statements\":[]}");
         verify(httpResponse, atLeast(4)).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void pingsWithKeepAliveSchedulerUntilCompleted() throws Exception {
+        TimingWheelScheduler scheduler = new TimingWheelScheduler(30L, 5L, 16, 1);
+        try {
+            Transaction transaction = new Transaction(httpDriver, BASE_URL, null, scheduler);
+            when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+            when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+            when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+            transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+            assertThat(scheduler.getPendingCount()).isEqualTo(1);
+
+            Thread.sleep(100L);
+            transaction.commit();
+
+            verify(httpDriver, atLeast(1)).post(BASE_URL + "/1", "{\"statements\":[]}");
+
+            assertThat(scheduler.getPendingCount()).isEqualTo(0);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void schedulesPingBeforeTransactionExpires() throws Exception {
+        RecordingScheduler scheduler = new RecordingScheduler(1000L);
+        Transaction transaction = new Transaction(httpDriver, BASE_URL, null, scheduler);
+        ZonedDateTime serverTime = ZonedDateTime.now(ZoneOffset.UTC).minusHours(1L);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getHeader("Date")).thenReturn(DateTimeFormatter.RFC_1123_DATE_TIME.format(serverTime));
+        when(httpResponse.getEntityContent()).thenAnswer(expiresAnswer(serverTime.plusSeconds(60L)));
+
+        Response response = transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        assertThat(scheduler.delays).containsExactly(1000L);
+        while (response.next()) {}
+
+        assertThat(scheduler.delays).hasSize(2);
+        assertThat(scheduler.delays.get(1).intValue()).isGreaterThan(50000).isLessThanOrEqualTo(55000);
+    }
+
+    @Test
+    public void pingDeferredUntilRequestCompletes() throws Exception {
+        RecordingScheduler scheduler = new RecordingScheduler(0L);
+        Transaction transaction = new Transaction(httpDriver, BASE_URL, null, scheduler);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        when(httpDriver.post(BASE_URL + "/1", STATEMENTS_JSON)).thenAnswer(invocation -> {
+            scheduler.tasks.get(0).run();
+            return httpResponse;
+        });
+
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        verify(httpDriver, never()).post(BASE_URL + "/1", "{\"statements\":[]}");
+        assertThat(scheduler.tasks).hasSize(2);
+        scheduler.tasks.get(1).run();
+        verify(httpDriver).post(BASE_URL + "/1", "{\"statements\":[]}");
+    }
+
+    @Test
+    public void requestWaitsForPingToComplete() throws Exception {
+        RecordingScheduler scheduler = new RecordingScheduler(0L);
+        Transaction transaction = new Transaction(httpDriver, BASE_URL, null, scheduler);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+        CountDownLatch pingStarted = new CountDownLatch(1);
+        CountDownLatch finishPing = new CountDownLatch(1);
+        when(httpDriver.post(BASE_URL + "/1", "{\"statements\":[]}")).thenAnswer(invocation -> {
+            pingStarted.countDown();
+            finishPing.await();
+            return httpResponse;
+        });
+        Thread pingThread = new Thread(scheduler.tasks.get(0));
+        pingThread.start();
+        pingStarted.await();
+
+        Thread requestThread = new Thread(() -> {
+            try {
+                transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        requestThread.start();
+        requestThread.join(50L);
+
+        verify(httpDriver, never()).post(BASE_URL + "/1", STATEMENTS_JSON);
+        finishPing.countDown();
+        requestThread.join(1000L);
+        pingThread.join(1000L);
+        verify(httpDriver).post(BASE_URL + "/1", STATEMENTS_JSON);
+    }
+
+    @Test
+    public void pingClosesResponse() throws Exception {
+        RecordingScheduler scheduler = new RecordingScheduler(0L);
+        Transaction transaction = new Transaction(httpDriver, BASE_URL, null, scheduler);
+        ResponseReader reader = mock(ResponseReader.class);
+        Response pingResponse = mock(Response.class);
+        when(httpDriver.post(anyString(), anyString())).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(reader.read(httpResponse)).thenReturn(Response.EMPTY, pingResponse);
+        transaction.setResponseReader(reader);
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        scheduler.tasks.get(0).run();
+
+        verify(httpDriver).post(BASE_URL + "/1", "{\"statements\":[]}");
+        verify(pingResponse).close();
+    }
+
+    private Answer<InputStream> expiresAnswer(ZonedDateTime expires) {
+        String json = "{\"results\":[{\"columns\":[],\"data\":[]}],\"transaction\":{\"expires\":\"" +
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(expires) + "\"},\"errors\":[]}";
+        return (invocation) -> new ByteArrayInputStream(json.getBytes());
+    }
+
+    private static class RecordingScheduler implements KeepAliveScheduler {
+        private final long keepAliveMs;
+        private final List<Long> delays = new ArrayList<>();
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        public RecordingScheduler(long keepAliveMs) {
+            this.keepAliveMs = keepAliveMs;
+        }
+
+        @Override
+        public long getKeepAliveMs() {
+            return keepAliveMs;
+        }
+
+        @Override
+        public ScheduledTask schedule(Runnable task, long delayMs) {
+            delays.add(delayMs);
+            tasks.add(task);
+            return () -> {};
+        }
+    }
+
+    @Test
+    public void readOnlyTransactionPassesAccessModeToDriver() throws Exception {
+        when(httpDriver.post(anyString(), anyString(), any(AccessMode.class))).thenReturn(httpResponse);
+        when(httpResponse.getHeader(LOCATION_HEADER)).thenReturn(BASE_URL + "/1");
+        when(httpResponse.getEntityContent()).thenAnswer(entityAnswer);
+        transaction.setAccessMode(AccessMode.READ);
+
+        transaction.execute(new Statement(CYPHER_QUERY, PARAM_MAP));
+
+        verify(httpDriver).post(BASE_URL, STATEMENTS_JSON, AccessMode.READ);
+        verify(httpDriver, never()).post(anyString(), anyString());
+    }
+
+    @Test
+    public void readOnlyTransactionRejectsWriteStatement() throws Exception {
+        transaction.setAccessMode(AccessMode.READ);
+
+        try {
+            transaction.execute(new Statement("MATCH (n) SET n.x = 1", null));
+            fail("expected exception");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage()).isEqualTo(Transaction.READ_ONLY_ERROR + "MATCH (n) SET n.x = 1");
+        }
+        verifyZeroInteractions(httpDriver);
+    }
+}
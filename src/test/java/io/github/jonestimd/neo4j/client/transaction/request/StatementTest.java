@@ -129,4 +129,39 @@ public class StatementTest {
             generator.writeString("generated JSON here");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isWriteDetectsWriteClauses() throws Exception {
+        assertThat(new Statement("create (n:Node)", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) DETACH DELETE n", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) SET n.name = {name}", null).isWrite()).isTrue();
+        assertThat(new Statement("MERGE (n {id: 1})", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) REMOVE n:Label", null).isWrite()).isTrue();
+    }
+
+    @Test
+    public void isWriteIgnoresLiteralsAndNames() throws Exception {
+        assertThat(new Statement("MATCH (n) RETURN n", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n {name: 'create'}) RETURN n", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n {name: \"it's a set\"}) RETURN n", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n:Set) RETURN n.set, n.created, `delete`, $merge", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n) // create\n RETURN n /* delete */", null).isWrite()).isFalse();
+    }
+
+    @Test
+    public void isWriteIgnoresMapKeysAndPropertyLookups() throws Exception {
+        assertThat(new Statement("RETURN {set: 1}", null).isWrite()).isFalse();
+        assertThat(new Statement("RETURN {create : 1, Delete:2}", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n {merge: {remove}}) RETURN n", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n) RETURN n.delete", null).isWrite()).isFalse();
+        assertThat(new Statement("MATCH (n) RETURN n. set, n {.create}", null).isWrite()).isFalse();
+    }
+
+    @Test
+    public void isWriteDetectsClausesInMapsAndSubqueries() throws Exception {
+        assertThat(new Statement("MATCH (n {set: 1}) SET n:Label", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) SET n += {delete: 1}", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) CALL { WITH n DELETE n }", null).isWrite()).isTrue();
+        assertThat(new Statement("MATCH (n) FOREACH (x IN [1] | CREATE (:Node))", null).isWrite()).isTrue();
+    }
+}
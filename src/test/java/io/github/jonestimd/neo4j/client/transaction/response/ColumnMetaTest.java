@@ -73,6 +73,19 @@ public class ColumnMetaTest {
         verifyMeta(metas.get(1), 2L, MetaType.NODE, true);
     }
 
+    @Test
+    public void readColumnMetaSkipsUnknownStructuredField() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(
+                "[{\"id\":2,\"ignored\":{\"x\":[1]},\"type\":\"node\",\"deleted\":true}]".getBytes()));
+        parser.nextToken();
+
+        List<ColumnMeta> metas = ColumnMeta.read(parser);
+
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+        assertThat(metas).hasSize(1);
+        verifyMeta(metas.get(0), 2L, MetaType.NODE, true);
+    }
+
     @Test
     public void readRelationshipColumnMeta() throws Exception {
         JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("[{\"id\":1,\"type\":\"relationship\",\"deleted\":false}]".getBytes()));
@@ -102,6 +115,17 @@ public class ColumnMetaTest {
         verifyMeta(metas.get(2), 3L, MetaType.NODE, false);
     }
 
+    @Test
+    public void readColumnMetaWithoutId() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("[{\"type\":\"node\"}]".getBytes()));
+        parser.nextToken();
+
+        List<ColumnMeta> metas = ColumnMeta.read(parser);
+
+        assertThat(metas.get(0).getId()).isNull();
+        assertThat(metas.get(0).getType()).isEqualTo(MetaType.NODE);
+    }
+
     private void verifyMeta(ColumnMeta meta, long id, MetaType type, boolean deleted) {
         assertThat(meta.getId()).isEqualTo(id);
         assertThat(meta.getType()).isEqualTo(type);
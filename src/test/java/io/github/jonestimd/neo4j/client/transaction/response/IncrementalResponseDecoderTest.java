@@ -0,0 +1,163 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class IncrementalResponseDecoderTest {
+    private static final String RESPONSE_JSON = "{\"results\":[" +
+            "{\"columns\":[\"c1\",\"c2\"],\"data\":[" + StatementResultTest.ROW + "," + StatementResultTest.ROW + "]," +
+            "\"stats\":{\"nodes_created\":0}}," +
+            "{\"columns\":[\"x\"],\"data\":[{\"row\":[\"value\"],\"meta\":[null]}]}" +
+            "],\"errors\":[]}";
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final List<String> events = new ArrayList<>();
+    private final List<ResultRow> rows = new ArrayList<>();
+    private final ResponseHandler handler = new ResponseHandler() {
+        @Override
+        public void onResult(int index, List<String> columns) {
+            events.add("result " + index + " " + columns);
+        }
+
+        @Override
+        public void onRow(int index, ResultRow row) {
+            events.add("row " + index);
+            rows.add(row);
+        }
+
+        @Override
+        public void onError(StatementException error) {
+            events.add("error " + error.getCode());
+        }
+
+        @Override
+        public void onTransactionExpires(long expires) {
+            events.add("expires " + expires);
+        }
+
+        @Override
+        public void onComplete() {
+            events.add("complete");
+        }
+    };
+
+    @Test
+    public void decodeSingleBuffer() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+
+        decoder.feed(ByteBuffer.wrap(RESPONSE_JSON.getBytes()));
+        decoder.endOfInput();
+
+        assertEvents();
+    }
+
+    @Test
+    public void decodeOneByteAtATime() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, GraphMode.EAGER, handler);
+        byte[] bytes = RESPONSE_JSON.getBytes();
+
+        for (int i = 0; i < bytes.length; i++) {
+            decoder.feed(bytes, i, i + 1);
+        }
+        decoder.endOfInput();
+
+        assertEvents();
+    }
+
+    @Test
+    public void decodeDirectBuffers() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+        byte[] bytes = RESPONSE_JSON.getBytes();
+
+        for (int i = 0; i < bytes.length; i += 37) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(37);
+            buffer.put(bytes, i, Math.min(37, bytes.length - i)).flip();
+            decoder.feed(buffer);
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+        decoder.endOfInput();
+
+        assertEvents();
+    }
+
+    @Test
+    public void rowsAreDecodedAsTheyArrive() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+        String firstRow = "{\"results\":[{\"columns\":[\"c1\",\"c2\"],\"data\":[" + StatementResultTest.ROW;
+
+        decoder.feed(ByteBuffer.wrap(firstRow.getBytes()));
+
+        assertThat(events).containsExactly("result 0 [c1, c2]", "row 0");
+    }
+
+    @Test
+    public void decodeErrors() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+
+        decoder.feed(ByteBuffer.wrap("{\"errors\":[{\"code\":\"code\",\"message\":\"message\"}],\"results\":[]}".getBytes()));
+        decoder.endOfInput();
+
+        assertThat(events).containsExactly("error code", "complete");
+    }
+
+    @Test
+    public void decodeTransactionExpires() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+        String json = "{\"results\":[],\"transaction\":{\"expires\":\"Thu, 01 Jan 1970 00:00:10 GMT\"},\"errors\":[]}";
+
+        decoder.feed(ByteBuffer.wrap(json.getBytes()));
+        decoder.endOfInput();
+
+        assertThat(events).containsExactly("expires 10000", "complete");
+    }
+
+    @Test
+    public void rowsKeepDecimalPrecision() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+        String json = "{\"results\":[{\"columns\":[\"x\"],\"data\":[{\"row\":[0.12345678901234567890123]," +
+                "\"meta\":[null],\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[]," +
+                "\"properties\":{\"p\":1.23456789012345678901}}],\"relationships\":[]}}]}],\"errors\":[]}";
+
+        decoder.feed(ByteBuffer.wrap(json.getBytes()));
+        decoder.endOfInput();
+
+        assertThat(rows.get(0).getColumn("x").getNumber().get()).isEqualTo(new BigDecimal("0.12345678901234567890123"));
+        assertThat(rows.get(0).getNodes().get(0).getProperties().get("p")).isEqualTo(new BigDecimal("1.23456789012345678901"));
+    }
+
+    @Test(expected = JsonEOFException.class)
+    public void incompleteResponseThrowsException() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+
+        decoder.feed(ByteBuffer.wrap("{\"results\":[".getBytes()));
+        decoder.endOfInput();
+    }
+
+    @Test(expected = ParseResponseException.class)
+    public void emptyResponseThrowsException() throws Exception {
+        new IncrementalResponseDecoder(jsonFactory, handler).endOfInput();
+    }
+
+    @Test(expected = ParseResponseException.class)
+    public void invalidResponseThrowsException() throws Exception {
+        IncrementalResponseDecoder decoder = new IncrementalResponseDecoder(jsonFactory, handler);
+
+        decoder.feed(ByteBuffer.wrap("[]".getBytes()));
+    }
+
+    private void assertEvents() {
+        assertThat(events).containsExactly("result 0 [c1, c2]", "row 0", "row 0", "result 1 [x]", "row 1", "complete");
+        assertThat(rows.get(0).getColumn("c2").getString().get()).isEqualTo("value2");
+        assertThat(rows.get(0).getNodes()).hasSize(2);
+        assertThat(rows.get(0).getRelationships()).hasSize(1);
+        assertThat(rows.get(0).getMeta("c1").get(0).getId()).isEqualTo(1L);
+        assertThat(rows.get(2).getColumn("x").getString().get()).isEqualTo("value");
+    }
+}
@@ -22,12 +22,16 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 import org.junit.Test;
 
 import static org.fest.assertions.Assertions.*;
@@ -97,4 +101,68 @@ public class JsonReaderTest {
         assertThat(value).isInstanceOf(Map.class);
         assertThat((Map) value).includes(entry("string", "abc"), entry("number", 123L), entry("boolean", true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void readObjectReturnsMutableMap() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("{\"a\":1}".getBytes()));
+
+        Map<String, Object> value = JsonReader.readObject(parser);
+        value.put("b", 2L);
+
+        assertThat(value).includes(entry("a", 1L), entry("b", 2L));
+    }
+
+    @Test
+    public void nextFieldReturnsIndexOfFieldsInAnyOrder() throws Exception {
+        SerializableString[] fieldNames = JsonReader.fieldNames("a", "b");
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("{\"a\":1,\"c\":2,\"b\":3,\"a\":4}".getBytes()));
+        parser.nextToken();
+
+        assertThat(JsonReader.nextField(parser, fieldNames, 0)).isEqualTo(0);
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+        assertThat(JsonReader.nextField(parser, fieldNames, 1)).isEqualTo(JsonReader.UNKNOWN_FIELD);
+        assertThat(parser.getCurrentName()).isEqualTo("c");
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+        assertThat(JsonReader.nextField(parser, fieldNames, -1)).isEqualTo(1);
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+        assertThat(JsonReader.nextField(parser, fieldNames, 2)).isEqualTo(0);
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+        assertThat(JsonReader.nextField(parser, fieldNames, 1)).isEqualTo(JsonReader.END_OF_OBJECT);
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+    }
+
+    @Test
+    public void nextFieldFallsBackToNameWhenOutOfOrder() throws Exception {
+        SerializableString[] fieldNames = JsonReader.fieldNames("a", "b");
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("{\"b\":1}".getBytes()));
+        parser.nextToken();
+
+        assertThat(JsonReader.nextField(parser, fieldNames, 0)).isEqualTo(1);
+        assertThat(parser.nextIntValue(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void nextFieldReturnsEndOfObject() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("{}".getBytes()));
+        parser.nextToken();
+
+        assertThat(JsonReader.nextField(parser, JsonReader.fieldNames("a"), 0)).isEqualTo(JsonReader.END_OF_OBJECT);
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+    }
+
+    @Test
+    public void copyCurrentStructureKeepsNumberText() throws Exception {
+        String json = "{\"a\":[0.12345678901234567890123,123456789012345678901234567890,1e400],\"b\":{\"c\":\"x\"}}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        parser.nextToken();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(stream)) {
+            JsonReader.copyCurrentStructure(parser, generator);
+        }
+
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(parser.nextToken()).isNull();
+        assertThat(stream.toString()).isEqualTo(json);
+    }
+}
@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class LabelDictionaryTest {
+    private final LabelDictionary dictionary = new LabelDictionary(10);
+
+    @Test
+    public void indexOfAssignsSequentialIndexes() throws Exception {
+        assertThat(dictionary.indexOf("l1")).isEqualTo(0);
+        assertThat(dictionary.indexOf("l2")).isEqualTo(1);
+        assertThat(dictionary.indexOf("l1")).isEqualTo(0);
+
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.getLabel(1)).isEqualTo("l2");
+        assertThat(dictionary.lookup("l2")).isEqualTo(1);
+        assertThat(dictionary.lookup("l3")).isEqualTo(-1);
+    }
+
+    @Test
+    public void toSetReturnsSharedInstance() throws Exception {
+        LabelSet labels = dictionary.toSet(Arrays.asList("l1", "l2"));
+
+        assertThat(dictionary.toSet(new HashSet<>(Arrays.asList("l2", "l1")))).isSameAs(labels);
+        assertThat(dictionary.toSet(labels)).isSameAs(labels);
+        assertThat(dictionary.getSetCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void toSetReturnsEmptySet() throws Exception {
+        LabelSet labels = dictionary.toSet(Collections.emptySet());
+
+        assertThat(labels).isEmpty();
+        assertThat(dictionary.toSet(new long[0])).isSameAs(labels);
+        assertThat(dictionary.getSetCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void toSetDoesNotShareAfterMaxSets() throws Exception {
+        LabelDictionary dictionary = new LabelDictionary(1);
+        dictionary.toSet(Collections.singleton("l1"));
+
+        LabelSet labels = dictionary.toSet(Collections.singleton("l2"));
+
+        assertThat(dictionary.toSet(Collections.singleton("l2"))).isNotSameAs(labels).isEqualTo(labels);
+        assertThat(dictionary.getSetCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void labelSetContainsLabels() throws Exception {
+        for (int i = 0; i < 70; i++) dictionary.indexOf("label" + i);
+
+        LabelSet labels = dictionary.toSet(Arrays.asList("label1", "label65"));
+
+        assertThat(labels).hasSize(2);
+        assertThat(labels).containsOnly("label1", "label65");
+        assertThat(labels.contains("label1")).isTrue();
+        assertThat(labels.contains("label2")).isFalse();
+        assertThat(labels.contains("unknown")).isFalse();
+        assertThat(labels.contains(65)).isTrue();
+        assertThat(labels.contains(64)).isFalse();
+        assertThat(labels.contains(200)).isFalse();
+    }
+
+    @Test
+    public void labelSetEqualsOtherSets() throws Exception {
+        LabelSet labels = dictionary.toSet(Arrays.asList("l1", "l2"));
+
+        assertThat(labels).isEqualTo(new HashSet<>(Arrays.asList("l1", "l2")));
+        assertThat(new HashSet<>(Arrays.asList("l1", "l2"))).isEqualTo(labels);
+        assertThat(labels.hashCode()).isEqualTo(new HashSet<>(Arrays.asList("l1", "l2")).hashCode());
+        assertThat(labels).isNotEqualTo(dictionary.toSet(Collections.singleton("l1")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void labelSetIsImmutable() throws Exception {
+        dictionary.toSet(Collections.singleton("l1")).add("l2");
+    }
+}
@@ -0,0 +1,63 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class LongMapTest {
+    @Test
+    public void getReturnsNullForMissingKey() throws Exception {
+        LongMap<String> map = new LongMap<>(0);
+
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void putReplacesValue() throws Exception {
+        LongMap<String> map = new LongMap<>(1);
+
+        assertThat(map.put(1L, "one")).isNull();
+        assertThat(map.put(1L, "uno")).isEqualTo("one");
+
+        assertThat(map.get(1L)).isEqualTo("uno");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void putResizesMap() throws Exception {
+        LongMap<Long> map = new LongMap<>(2);
+
+        for (long key = -500L; key < 500L; key++) map.put(key * 31L, key);
+
+        assertThat(map.size()).isEqualTo(1000);
+        for (long key = -500L; key < 500L; key++) assertThat(map.get(key * 31L)).isEqualTo(key);
+        assertThat(map.get(1L)).isNull();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void putRejectsNullValue() throws Exception {
+        new LongMap<String>(1).put(1L, null);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.fest.assertions.Assertions.*;
+
+public class MappedFileTest {
+    private static final byte[] DATA = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readAcrossSegments() throws Exception {
+        try (MappedFile file = new MappedFile(new ByteArrayInputStream(DATA), folder.getRoot().toPath(), 5)) {
+            assertThat(file.getLength()).isEqualTo(DATA.length);
+            assertThat(readAll(file.getInputStream(0L, file.getLength()))).isEqualTo(DATA);
+            assertThat(readAll(file.getInputStream(3L, 20L))).isEqualTo(Arrays.copyOfRange(DATA, 3, 23));
+            assertThat(readAll(file.getInputStream(30L, 20L))).isEqualTo(Arrays.copyOfRange(DATA, 30, DATA.length));
+        }
+    }
+
+    @Test
+    public void readSingleBytes() throws Exception {
+        try (MappedFile file = new MappedFile(new ByteArrayInputStream(DATA), folder.getRoot().toPath(), 5)) {
+            InputStream stream = file.getInputStream(4L, 2L);
+
+            assertThat(stream.available()).isEqualTo(2);
+            assertThat(stream.read()).isEqualTo('4');
+            assertThat(stream.read()).isEqualTo('5');
+            assertThat(stream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void closeDeletesFile() throws Exception {
+        MappedFile file = new MappedFile(new ByteArrayInputStream(DATA), folder.getRoot().toPath(), 5);
+        assertThat(folder.getRoot().list()).hasSize(1);
+
+        file.close();
+
+        assertThat(folder.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void emptyStream() throws Exception {
+        try (MappedFile file = new MappedFile(new ByteArrayInputStream(new byte[0]), folder.getRoot().toPath(), 5)) {
+            assertThat(file.getLength()).isEqualTo(0L);
+            assertThat(file.getInputStream(0L, 0L).read()).isEqualTo(-1);
+        }
+    }
+
+    private byte[] readAll(InputStream stream) throws Exception {
+        byte[] data = new byte[stream.available()];
+        int length = 0;
+        int count;
+        while ((count = stream.read(data, length, data.length - length)) > 0) length += count;
+        assertThat(stream.read(new byte[1], 0, 1)).isEqualTo(-1);
+        return data;
+    }
+}
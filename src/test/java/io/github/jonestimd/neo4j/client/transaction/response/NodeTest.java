@@ -64,4 +64,29 @@ public class NodeTest {
         assertThat(node.getProperties().keySet()).containsOnly("p1");
         assertThat(node.getProperties().get("p1")).isEqualTo(99L);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void readSharesLabelSets() throws Exception {
+        String json = "{\"id\":\"1\",\"labels\":[\"l1\",\"l2\"]}";
+        JsonParser parser1 = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        JsonParser parser2 = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        parser1.nextToken();
+        parser2.nextToken();
+
+        Node node1 = Node.read(parser1);
+        Node node2 = Node.read(parser2);
+
+        assertThat(node2.getLabels()).isSameAs(node1.getLabels());
+        assertThat(node1.getLabels()).containsOnly("l1", "l2");
+    }
+
+    @Test
+    public void hasLabel() throws Exception {
+        Node node = new Node(99L, Collections.singleton("LABEL"), Collections.emptyMap());
+
+        assertThat(node.hasLabel("LABEL")).isTrue();
+        assertThat(node.hasLabel(LabelDictionary.getDefault().indexOf("LABEL"))).isTrue();
+        assertThat(node.hasLabel("unknown label")).isFalse();
+        assertThat(node.hasLabel(LabelDictionary.getDefault().indexOf("other label"))).isFalse();
+    }
+}
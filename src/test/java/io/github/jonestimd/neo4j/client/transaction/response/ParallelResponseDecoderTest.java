@@ -0,0 +1,106 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import junit.framework.Assert;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class ParallelResponseDecoderTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private final ParallelResponseDecoder decoder = new ParallelResponseDecoder(jsonFactory, POOL, GraphMode.EAGER);
+
+    @Test
+    public void decodeEmptyResponse() throws Exception {
+        Response response = decoder.decode(new ByteArrayInputStream("{\"results\":[],\"errors\":[]}".getBytes()));
+
+        assertThat(response.next()).isFalse();
+        assertThat(response.getResult()).isNull();
+    }
+
+    @Test
+    public void decodeReturnsResultsInStatementOrder() throws Exception {
+        StringBuilder json = new StringBuilder("{\"ignored\":{},\"results\":[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"columns\":[\"c1\"],\"data\":[{\"row\":[").append(i).append("],\"meta\":[null],")
+                    .append("\"graph\":{\"nodes\":[{\"id\":\"").append(i).append("\",\"labels\":[],\"properties\":{}}],\"relationships\":[]}},")
+                    .append("{\"row\":[\"").append(i).append("\"],\"meta\":[null]}]}");
+        }
+        json.append("],\"errors\":[]}");
+
+        Response response = decoder.decode(new ByteArrayInputStream(json.toString().getBytes()));
+
+        for (long i = 0; i < 50; i++) {
+            assertThat(response.next()).isTrue();
+            StatementResult result = response.getResult();
+            assertThat(result.getColumns()).containsExactly("c1");
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("c1").getNumber()).isEqualTo(Optional.of(i));
+            assertThat(result.getNode(i)).isNotNull();
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("c1").getString()).isEqualTo(Optional.of(Long.toString(i)));
+            assertThat(result.next()).isFalse();
+        }
+        assertThat(response.next()).isFalse();
+    }
+
+    @Test
+    public void decodeThrowsLeadingError() throws Exception {
+        String json = "{\"errors\":[{\"code\":\"Code\",\"message\":\"Message\"}],\"results\":[]}";
+
+        try {
+            decoder.decode(new ByteArrayInputStream(json.getBytes()));
+            Assert.fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("Code");
+        }
+    }
+
+    @Test
+    public void decodeThrowsTrailingErrorAfterLastResult() throws Exception {
+        String json = "{\"results\":[{\"columns\":[],\"data\":[]},{\"columns\":[],\"data\":[]}],\"errors\":[{\"code\":\"Code\",\"message\":\"Message\"}]}";
+        Response response = decoder.decode(new ByteArrayInputStream(json.getBytes()));
+
+        assertThat(response.next()).isTrue();
+        assertThat(response.skipResult()).isTrue();
+        try {
+            response.next();
+            Assert.fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("Code");
+        }
+        assertThat(response.next()).isFalse();
+    }
+
+    @Test(expected = ParseResponseException.class)
+    public void decodeThrowsParseErrorFromResult() throws Exception {
+        String json = "{\"results\":[{\"columns\":[\"c1\"],\"data\":[]},{\"columns\":[\"c1\"],\"data\":[{\"row\":{}}]}]}";
+
+        decoder.decode(new ByteArrayInputStream(json.getBytes()));
+    }
+
+    @Test
+    public void decodeReusesBuffer() throws Exception {
+        StringBuilder json = new StringBuilder("{\"results\":[{\"columns\":[\"c1\"],\"data\":[");
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"row\":[").append(i).append("],\"meta\":[null]}");
+        }
+        json.append("]}]}");
+
+        for (int j = 0; j < 3; j++) {
+            Response response = decoder.decode(new ByteArrayInputStream(json.toString().getBytes()));
+
+            assertThat(response.next()).isTrue();
+            int count = 0;
+            while (response.getResult().next()) count++;
+            assertThat(count).isEqualTo(2000);
+        }
+    }
+}
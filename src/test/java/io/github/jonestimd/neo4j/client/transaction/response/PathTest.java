@@ -0,0 +1,89 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class PathTest {
+    private static final String PATH_ROW = "{\"row\":[[{\"name\":\"a\"},{},{\"name\":\"b\"},{},{\"name\":\"c\"}],\"x\"]," +
+            "\"meta\":[[{\"id\":1,\"type\":\"node\",\"deleted\":false}," +
+            "{\"id\":10,\"type\":\"relationship\",\"deleted\":false}," +
+            "{\"id\":2,\"type\":\"node\",\"deleted\":false}," +
+            "{\"id\":11,\"type\":\"relationship\",\"deleted\":false}," +
+            "{\"id\":3,\"type\":\"node\",\"deleted\":false}],null]," +
+            "\"graph\":{\"nodes\":[" +
+            "{\"id\":\"1\",\"labels\":[],\"properties\":{\"name\":\"a\"}}," +
+            "{\"id\":\"2\",\"labels\":[],\"properties\":{\"name\":\"b\"}}," +
+            "{\"id\":\"3\",\"labels\":[],\"properties\":{\"name\":\"c\"}}]," +
+            "\"relationships\":[" +
+            "{\"id\":\"10\",\"type\":\"R\",\"startNode\":\"1\",\"endNode\":\"2\",\"properties\":{}}," +
+            "{\"id\":\"11\",\"type\":\"R\",\"startNode\":\"3\",\"endNode\":\"2\",\"properties\":{}}]}}";
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private ResultRow readRow(String json) throws Exception {
+        JsonParser parser = jsonFactory.createParser(json);
+        parser.nextToken();
+        return ResultRow.read(Arrays.asList("p", "x"), parser);
+    }
+
+    @Test
+    public void getPathFromMeta() throws Exception {
+        ResultRow row = readRow(PATH_ROW);
+
+        Path path = row.getPath("p");
+
+        assertThat(path.length()).isEqualTo(2);
+        assertThat(path.getNodeIds()).isEqualTo(new long[] {1L, 2L, 3L});
+        assertThat(path.getRelationshipIds()).isEqualTo(new long[] {10L, 11L});
+        assertThat(path.getNodeId(1)).isEqualTo(2L);
+        assertThat(path.getRelationshipId(1)).isEqualTo(11L);
+        assertThat(path.getStartNode().getProperties().get("name")).isEqualTo("a");
+        assertThat(path.getNode(1).getProperties().get("name")).isEqualTo("b");
+        assertThat(path.getEndNode().getProperties().get("name")).isEqualTo("c");
+        assertThat(path.getRelationship(0).getId()).isEqualTo(10L);
+        assertThat(path.isForward(0)).isTrue();
+        assertThat(path.isForward(1)).isFalse();
+    }
+
+    @Test
+    public void getPathReturnsNullForNonPathColumn() throws Exception {
+        ResultRow row = readRow(PATH_ROW);
+
+        assertThat(row.getPath("x")).isNull();
+        assertThat(row.getPath("unknown")).isNull();
+    }
+
+    @Test
+    public void getPathReturnsNullForListOfNodes() throws Exception {
+        ResultRow row = readRow("{\"row\":[[{},{}],\"x\"],\"meta\":[[{\"id\":1,\"type\":\"node\",\"deleted\":false}," +
+                "{\"id\":2,\"type\":\"node\",\"deleted\":false}],null]}");
+
+        assertThat(row.getPath("p")).isNull();
+    }
+
+    @Test
+    public void getPathReturnsNullForSingleNode() throws Exception {
+        ResultRow row = readRow("{\"row\":[[{}],\"x\"],\"meta\":[[{\"id\":1,\"type\":\"node\",\"deleted\":false}],null]}");
+
+        assertThat(row.getPath("p")).isNull();
+    }
+
+    @Test
+    public void getPathReturnsNullForNodeColumn() throws Exception {
+        ResultRow row = readRow("{\"row\":[{},\"x\"],\"meta\":[{\"id\":1,\"type\":\"node\",\"deleted\":false},null]}");
+
+        assertThat(row.getPath("p")).isNull();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void isForwardThrowsExceptionWithoutGraph() throws Exception {
+        ResultRow row = readRow("{\"row\":[[{},{},{}],\"x\"],\"meta\":[[{\"id\":1,\"type\":\"node\",\"deleted\":false}," +
+                "{\"id\":10,\"type\":\"relationship\",\"deleted\":false},{\"id\":2,\"type\":\"node\",\"deleted\":false}],null]}");
+
+        row.getPath("p").isForward(0);
+    }
+}
@@ -0,0 +1,104 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+import static org.fest.assertions.MapAssert.*;
+
+public class PropertyMapTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    public void readPropertiesReturnsPropertyMap() throws Exception {
+        Map<String, Object> properties = readProperties("{\"string\":\"abc\",\"number\":123,\"null\":null}");
+
+        assertThat((Object) properties).isInstanceOf(PropertyMap.class);
+        assertThat(properties).hasSize(3);
+        assertThat(properties).includes(entry("string", "abc"), entry("number", 123L));
+        assertThat(properties.get("null")).isNull();
+        assertThat(properties.containsKey("null")).isTrue();
+        assertThat(properties.containsKey("unknown")).isFalse();
+        assertThat(properties.get("unknown")).isNull();
+        assertThat(properties.toString()).isEqualTo("{string=abc, number=123, null=null}");
+    }
+
+    @Test
+    public void readPropertiesSharesShapes() throws Exception {
+        readProperties("{\"shared1\":1,\"shared2\":2}");
+        int shapeCount = PropertyMap.getShapeCount();
+
+        Map<String, Object> properties = readProperties("{\"shared1\":3,\"shared2\":4}");
+
+        assertThat(PropertyMap.getShapeCount()).isEqualTo(shapeCount);
+        assertThat(properties).includes(entry("shared1", 3L), entry("shared2", 4L));
+    }
+
+    @Test
+    public void readPropertiesWithManyKeys() throws Exception {
+        StringBuilder json = new StringBuilder("{");
+        Map<String, Object> expected = new HashMap<>();
+        for (long i = 0; i < 20; i++) {
+            if (i > 0) json.append(',');
+            json.append("\"key").append(i).append("\":").append(i);
+            expected.put("key" + i, i);
+        }
+
+        Map<String, Object> properties = readProperties(json.append('}').toString());
+
+        assertThat(properties).isEqualTo(expected);
+        assertThat(properties.get("key15")).isEqualTo(15L);
+        assertThat(properties.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    public void readPropertiesWithDuplicateKey() throws Exception {
+        Map<String, Object> properties = readProperties("{\"key\":1,\"key\":2}");
+
+        assertThat(properties).hasSize(1);
+        assertThat(properties.get("key")).isEqualTo(2L);
+    }
+
+    @Test
+    public void readPropertiesWithNoKeys() throws Exception {
+        Map<String, Object> properties = readProperties("{}");
+
+        assertThat(properties).isEmpty();
+        assertThat(properties.entrySet().iterator().hasNext()).isFalse();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void propertyMapIsImmutable() throws Exception {
+        readProperties("{\"key\":1}").put("key", 2L);
+    }
+
+    private Map<String, Object> readProperties(String json) throws Exception {
+        return JsonReader.readProperties(jsonFactory.createParser(new ByteArrayInputStream(json.getBytes())));
+    }
+}
@@ -1,6 +1,10 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.ByteArrayInputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
@@ -10,8 +14,61 @@ import org.junit.Test;
 import static org.fest.assertions.Assertions.*;
 
 public class ResponseTest {
+    private static final String EXPIRES = "Mon, 19 Oct 2026 08:00:00 GMT";
     private final JsonFactory jsonFactory = new JsonFactory();
 
+    private long expiresMillis() {
+        return ZonedDateTime.parse(EXPIRES, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void readsTransactionExpiresAfterResults() throws Exception {
+        String json = "{\"results\":[],\"transaction\":{\"expires\":\"" + EXPIRES + "\"},\"errors\":[]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        AtomicLong expires = new AtomicLong(-1L);
+
+        Response response = new Response(parser);
+        response.setTransactionExpiresListener(expires::set);
+
+        assertThat(response.getTransactionExpires()).isEqualTo(-1L);
+        assertThat(response.next()).isFalse();
+        assertThat(response.getTransactionExpires()).isEqualTo(expiresMillis());
+        assertThat(expires.get()).isEqualTo(expiresMillis());
+    }
+
+    @Test
+    public void readsTransactionExpiresBeforeResults() throws Exception {
+        String json = "{\"transaction\":{\"expires\":\"" + EXPIRES + "\"},\"results\":[],\"errors\":[]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        AtomicLong expires = new AtomicLong(-1L);
+
+        Response response = new Response(parser);
+        response.setTransactionExpiresListener(expires::set);
+
+        assertThat(expires.get()).isEqualTo(expiresMillis());
+    }
+
+    @Test
+    public void ignoresInvalidTransactionExpires() throws Exception {
+        String json = "{\"results\":[],\"transaction\":{\"expires\":\"tomorrow\"},\"errors\":[]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+
+        Response response = new Response(parser);
+
+        assertThat(response.next()).isFalse();
+        assertThat(response.getTransactionExpires()).isEqualTo(-1L);
+    }
+
+    @Test
+    public void closeClosesParser() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("{\"results\":[]}".getBytes()));
+        Response response = new Response(parser);
+
+        response.close();
+
+        assertThat(parser.isClosed()).isTrue();
+    }
+
     @Test
     public void emptyResponse() throws Exception {
         String json = "{}";
@@ -103,4 +160,44 @@ public class ResponseTest {
         assertThat(response.getResult()).isNull();
         assertThat(response.next()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void skipResultSkipsToNextStatementResult() throws Exception {
+        String json = "{\"results\":[" +
+                "{\"columns\":[\"c1\"],\"data\":[{\"row\":[{\"a\":[1,2]}],\"meta\":[null]},{\"row\":[2],\"meta\":[null]}]}," +
+                "{\"columns\":[\"c2\"],\"data\":[{\"row\":[3],\"meta\":[null]}]}]," +
+                "\"errors\":[],\"transaction\":{\"expires\":\"Mon, 1 Aug 2016 12:00:00 +0000\"}}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        Response response = new Response(parser);
+
+        assertThat(response.skipResult()).isTrue();
+        assertThat(response.getResult()).isNull();
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("c2").getNumber()).isEqualTo(Optional.of(3L));
+        assertThat(response.skipResult()).isFalse();
+        assertThat(response.next()).isFalse();
+        assertThat(parser.nextToken()).isNull();
+    }
+
+    @Test
+    public void skipResultSkipsRemainingRowsOfCurrentResult() throws Exception {
+        String json = "{\"results\":[" +
+                "{\"columns\":[\"c1\"],\"data\":[{\"row\":[1],\"meta\":[null]},{\"row\":[2],\"meta\":[null]}]}," +
+                "{\"columns\":[\"c2\"],\"data\":[{\"row\":[3],\"meta\":[null]}]}]," +
+                "\"errors\":[{\"code\":\"Code\",\"message\":\"Message\"}]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        Response response = new Response(parser);
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+
+        assertThat(response.skipResult()).isTrue();
+
+        try {
+            response.skipResult();
+            Assert.fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("Code");
+        }
+    }
+}
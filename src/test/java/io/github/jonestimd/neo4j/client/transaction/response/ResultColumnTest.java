@@ -1,6 +1,7 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -92,4 +93,39 @@ public class ResultColumnTest {
         assertThat(column.getProperties().get("p1")).isEqualTo("value1");
         assertThat(column.getProperties().get("p2")).isEqualTo("value2");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void writeStringResult() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 10000; i++) value.append("text ").append(i).append("\\n");
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(("[\"" + value + "\"]").getBytes()));
+        parser.nextToken();
+        StringWriter writer = new StringWriter();
+
+        ResultColumn column = new ResultColumn(parser, "column", name -> name.equals("column") ? writer : null);
+
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+        assertThat(column.isWritten()).isTrue();
+        assertThat(writer.toString()).isEqualTo(value.toString().replace("\\n", "\n"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getStringThrowsExceptionForWrittenValue() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("[\"value\"]".getBytes()));
+        parser.nextToken();
+
+        new ResultColumn(parser, "column", name -> new StringWriter()).getString();
+    }
+
+    @Test
+    public void writerIsNotUsedForNonStringValue() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream("[[1,2]]".getBytes()));
+        parser.nextToken();
+
+        ResultColumn column = new ResultColumn(parser, "column", name -> { throw new AssertionError(); });
+
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+        assertThat(column.isWritten()).isFalse();
+        assertThat(column.getList()).containsExactly(1L, 2L);
+    }
+}
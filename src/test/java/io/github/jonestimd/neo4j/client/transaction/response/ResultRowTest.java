@@ -1,6 +1,7 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -13,6 +14,10 @@ import org.junit.Test;
 import static org.fest.assertions.Assertions.*;
 
 public class ResultRowTest {
+    private static final String GRAPH_ROW = "{\"graph\":{" +
+            "\"nodes\":[{\"id\":\"1\",\"labels\":[\"Label\"],\"properties\":{\"p1\":100}}]," +
+            "\"relationships\":[{\"id\":2,\"type\":\"R1\",\"startNode\":1,\"endNode\":1,\"properties\":{}}]}," +
+            "\"row\":[[\"value\"]]}";
     private final JsonFactory jsonFactory = new JsonFactory();
 
     @Test
@@ -44,6 +49,86 @@ public class ResultRowTest {
         assertThat(row.getRelationships()).hasSize(1);
     }
 
+    @Test
+    public void lookupGraphElementsById() throws Exception {
+        String json = "{\"graph\":{" +
+                "\"nodes\":[" +
+                "{\"id\":\"1\",\"labels\":[\"Label\"],\"properties\":{}}," +
+                "{\"id\":\"3\",\"labels\":[\"Label\"],\"properties\":{}}]," +
+                "\"relationships\":[{\"id\":2,\"type\":\"R1\",\"startNode\":1,\"endNode\":3,\"properties\":{}}]}}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        parser.nextToken();
+
+        ResultRow row = ResultRow.read(Arrays.asList("c1", "c2"), parser);
+
+        Relationship relationship = row.getRelationship(2L);
+        assertThat(relationship).isSameAs(row.getRelationships().get(0));
+        assertThat(relationship.getStartNode(row)).isSameAs(row.getNodes().get(0));
+        assertThat(relationship.getEndNode(row)).isSameAs(row.getNodes().get(1));
+        assertThat(row.getNode(2L)).isNull();
+        assertThat(row.getRelationship(1L)).isNull();
+        assertThat(row.getNodesById()).hasSize(2);
+        assertThat(row.getNodesById()).isNotSameAs(row.getNodesById());
+        row.getNodesById().remove(1L);
+        assertThat(row.getNodesById()).hasSize(2);
+    }
+
+    @Test
+    public void readWithEagerGraph() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(GRAPH_ROW.getBytes()));
+        parser.nextToken();
+
+        ResultRow row = ResultRow.read(Arrays.asList("c1"), parser, GraphMode.EAGER);
+
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(parser.nextToken()).isNull();
+        assertThat(row.getNodes()).hasSize(1);
+        assertThat(row.getNodes().get(0).getProperties().get("p1")).isEqualTo(100L);
+        assertThat(row.getRelationships()).hasSize(1);
+    }
+
+    @Test
+    public void readWithLazyGraph() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(GRAPH_ROW.getBytes()));
+        parser.nextToken();
+
+        ResultRow row = ResultRow.read(Arrays.asList("c1"), parser, GraphMode.LAZY);
+
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(parser.nextToken()).isNull();
+        assertThat(row.getRelationships()).hasSize(1);
+        assertThat(row.getRelationships().get(0).getType()).isEqualTo("R1");
+        assertThat(row.getNodes()).hasSize(1);
+        assertThat(row.getNodes().get(0).getProperties().get("p1")).isEqualTo(100L);
+        assertThat(row.getNodes()).isSameAs(row.getNodes());
+    }
+
+    @Test
+    public void readWithLazyGraphKeepsDecimalPrecision() throws Exception {
+        String json = "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[]," +
+                "\"properties\":{\"p1\":0.12345678901234567890123}}],\"relationships\":[]},\"row\":[[\"value\"]]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        parser.nextToken();
+
+        ResultRow row = ResultRow.read(Arrays.asList("c1"), parser, GraphMode.LAZY);
+
+        assertThat(row.getNodes().get(0).getProperties().get("p1")).isEqualTo(new BigDecimal("0.12345678901234567890123"));
+    }
+
+    @Test
+    public void readWithSkippedGraph() throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(GRAPH_ROW.getBytes()));
+        parser.nextToken();
+
+        ResultRow row = ResultRow.read(Arrays.asList("c1"), parser, GraphMode.SKIP);
+
+        assertThat(parser.getCurrentToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(parser.nextToken()).isNull();
+        assertThat(row.getColumn("c1").getList()).containsExactly("value");
+        assertThat(row.getNodes()).isEmpty();
+        assertThat(row.getRelationships()).isEmpty();
+    }
+
     @Test(expected = ParseResponseException.class)
     public void readThrowsExceptionIfNotAtStartToken() throws Exception {
         String json = "{}";
@@ -0,0 +1,249 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+
+public class RowPublisherTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private JsonParser parser;
+
+    private StatementResult newResult(int rows) throws Exception {
+        StringBuilder json = new StringBuilder("{\"columns\":[\"c\"],\"data\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"row\":[").append(i).append("]}");
+        }
+        parser = jsonFactory.createParser(new ByteArrayInputStream(json.append("]}").toString().getBytes()));
+        parser.nextToken();
+        return new StatementResult(parser);
+    }
+
+    private RowPublisher<Integer> newPublisher(int rows) throws Exception {
+        return new RowPublisher<>(newResult(rows), row -> row.getColumn("c").getNumber().get().intValue());
+    }
+
+    @Test
+    public void publishesRowsOnDemand() throws Exception {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        newPublisher(5).subscribe(subscriber);
+
+        assertThat(subscriber.items).isEmpty();
+        subscriber.subscription.request(2);
+        assertThat(subscriber.items).containsExactly(0, 1);
+        subscriber.subscription.request(2);
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 3);
+        assertThat(subscriber.complete).isFalse();
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 3, 4);
+        assertThat(subscriber.complete).isTrue();
+        assertThat(parser.isClosed()).isFalse();
+    }
+
+    @Test
+    public void publishesAllRowsForUnboundedDemand() throws Exception {
+        TestSubscriber<ResultRow> subscriber = new TestSubscriber<>();
+        RowPublisher.of(newResult(3)).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).hasSize(3);
+        assertThat(subscriber.complete).isTrue();
+    }
+
+    @Test
+    public void requestFromOnNextDoesNotRecurse() throws Exception {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<Integer>() {
+            private int depth = 0;
+
+            @Override
+            public void onNext(Integer item) {
+                assertThat(depth++).isEqualTo(0);
+                super.onNext(item);
+                subscription.request(1);
+                depth--;
+            }
+        };
+        newPublisher(100).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).hasSize(100);
+        assertThat(subscriber.complete).isTrue();
+    }
+
+    private static final String TWO_RESULTS_WITH_ERROR = "{\"results\":[" +
+            "{\"columns\":[\"c\"],\"data\":[{\"row\":[1]},{\"row\":[2]}]}," +
+            "{\"columns\":[\"d\"],\"data\":[{\"row\":[3]}]}]," +
+            "\"errors\":[{\"code\":\"Neo.DatabaseError.Transaction.TransactionCommitFailed\",\"message\":\"commit failed\"}]}";
+
+    private Response newResponse(String json) throws Exception {
+        parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        return new Response(parser);
+    }
+
+    @Test
+    public void completedResultLeavesResponseReadable() throws Exception {
+        Response response = newResponse(TWO_RESULTS_WITH_ERROR);
+        assertThat(response.next()).isTrue();
+        TestSubscriber<ResultRow> subscriber = new TestSubscriber<>();
+        RowPublisher.of(response.getResult()).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).hasSize(2);
+        assertThat(subscriber.complete).isTrue();
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().getColumns()).containsExactly("d");
+        assertThat(response.getResult().next()).isTrue();
+        try {
+            response.next();
+            fail("expected exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getMessage()).isEqualTo("commit failed");
+        }
+    }
+
+    @Test
+    public void responsePublisherSignalsTrailingError() throws Exception {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        new RowPublisher<>(newResponse(TWO_RESULTS_WITH_ERROR), row -> row.getColumn("c").getNumber().get().intValue())
+                .subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).containsExactly(1, 2);
+        assertThat(subscriber.complete).isFalse();
+        assertThat(subscriber.error).isInstanceOf(StatementException.class);
+        assertThat(subscriber.error.getMessage()).isEqualTo("commit failed");
+    }
+
+    @Test
+    public void responsePublisherCompletesAfterReadingResponse() throws Exception {
+        TestSubscriber<ResultRow> subscriber = new TestSubscriber<>();
+        RowPublisher.of(newResponse("{\"results\":[{\"columns\":[\"c\"],\"data\":[{\"row\":[1]}]}," +
+                "{\"columns\":[\"d\"],\"data\":[]}],\"errors\":[]}")).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).hasSize(1);
+        assertThat(subscriber.complete).isTrue();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    public void cancelClosesParser() throws Exception {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        newPublisher(5).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly(0);
+        assertThat(subscriber.complete).isFalse();
+        assertThat(subscriber.error).isNull();
+        assertThat(parser.isClosed()).isTrue();
+    }
+
+    @Test
+    public void cancelBeforeFirstResultClosesResponse() throws Exception {
+        TestSubscriber<ResultRow> subscriber = new TestSubscriber<>();
+        RowPublisher.of(newResponse(TWO_RESULTS_WITH_ERROR)).subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.error).isNull();
+        assertThat(parser.isClosed()).isTrue();
+    }
+
+    @Test
+    public void invalidRequestBeforeFirstResultClosesResponse() throws Exception {
+        TestSubscriber<ResultRow> subscriber = new TestSubscriber<>();
+        RowPublisher.of(newResponse(TWO_RESULTS_WITH_ERROR)).subscribe(subscriber);
+
+        subscriber.subscription.request(-1);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(parser.isClosed()).isTrue();
+    }
+
+    @Test
+    public void invalidRequestSignalsError() throws Exception {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        newPublisher(5).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(parser.isClosed()).isTrue();
+    }
+
+    @Test
+    public void mapperExceptionSignalsError() throws Exception {
+        TestSubscriber<Object> subscriber = new TestSubscriber<>();
+        RuntimeException exception = new RuntimeException();
+        new RowPublisher<>(newResult(5), row -> { throw exception; }).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.error).isSameAs(exception);
+        assertThat(subscriber.items).isEmpty();
+        assertThat(parser.isClosed()).isTrue();
+    }
+
+    @Test
+    public void secondSubscriberGetsError() throws Exception {
+        RowPublisher<Integer> publisher = newPublisher(5);
+        publisher.subscribe(new TestSubscriber<>());
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.subscription).isNotNull();
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void subscribeThrowsExceptionForNullSubscriber() throws Exception {
+        newPublisher(5).subscribe(null);
+    }
+
+    private static class TestSubscriber<T> implements Subscriber<T> {
+        protected Subscription subscription;
+        private final List<T> items = new ArrayList<>();
+        private Throwable error;
+        private boolean complete = false;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.fest.assertions.Assertions.*;
+import static org.junit.Assert.fail;
+
+public class SpilledResponseTest {
+    private static final String JSON = "{\"results\":[" +
+            "{\"columns\":[\"a\"],\"data\":[{\"row\":[1]},{\"row\":[2]}]}," +
+            "{\"columns\":[\"b\"],\"data\":[{\"row\":[\"x\"]}]}" +
+            "],\"errors\":[]}";
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SpilledResponse spill(String json) throws Exception {
+        return SpilledResponse.spill(jsonFactory, new MappedFile(new ByteArrayInputStream(json.getBytes()), folder.getRoot().toPath(), 16));
+    }
+
+    @Test
+    public void readSequentially() throws Exception {
+        try (SpilledResponse response = spill(JSON)) {
+            assertThat(response.getLength()).isEqualTo(JSON.length());
+            assertResults(response);
+        }
+    }
+
+    @Test
+    public void rereadStartsFromBeginning() throws Exception {
+        try (SpilledResponse response = spill(JSON)) {
+            assertResults(response);
+
+            assertResults(response.reread());
+            assertResults(response.reread());
+        }
+    }
+
+    @Test
+    public void getResultByIndex() throws Exception {
+        try (SpilledResponse response = spill(JSON)) {
+            assertThat(response.getResultCount()).isEqualTo(2);
+
+            StatementResult result = response.getResult(1);
+            assertThat(result.getColumns()).containsExactly("b");
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("b").getString().get()).isEqualTo("x");
+            assertThat(result.next()).isFalse();
+
+            result = response.getResult(0);
+            assertThat(result.next()).isTrue();
+            assertThat(result.getColumn("a").getNumber().get().intValue()).isEqualTo(1);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getResultThrowsExceptionForInvalidIndex() throws Exception {
+        try (SpilledResponse response = spill(JSON)) {
+            response.getResult(2);
+        }
+    }
+
+    @Test
+    public void closeDeletesFile() throws Exception {
+        SpilledResponse response = spill(JSON);
+        assertThat(folder.getRoot().list()).hasSize(1);
+
+        response.close();
+
+        assertThat(folder.getRoot().list()).isEmpty();
+    }
+
+    @Test
+    public void errorBeforeResultsDeletesFile() throws Exception {
+        try {
+            spill("{\"errors\":[{\"code\":\"code\",\"message\":\"message\"}],\"results\":[]}");
+            fail("expected an exception");
+        } catch (StatementException ex) {
+            assertThat(ex.getCode()).isEqualTo("code");
+        }
+
+        assertThat(folder.getRoot().list()).isEmpty();
+    }
+
+    private void assertResults(Response response) throws Exception {
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("a").getNumber().get().intValue()).isEqualTo(1);
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("a").getNumber().get().intValue()).isEqualTo(2);
+        assertThat(response.next()).isTrue();
+        assertThat(response.getResult().next()).isTrue();
+        assertThat(response.getResult().getColumn("b").getString().get()).isEqualTo("x");
+        assertThat(response.next()).isFalse();
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.jonestimd.neo4j.client.transaction.response;
 
 import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
 import java.util.Optional;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -57,6 +58,23 @@ public class StatementResultTest {
         assertThat(parser.nextToken()).isNull();
     }
 
+    @Test
+    public void setGraphModeSkipsGraph() throws Exception {
+        String json = "{\"columns\":[\"c1\",\"c2\"],\"data\":[" + ROW + "]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        assert parser.nextToken() == JsonToken.START_OBJECT;
+        StatementResult result = new StatementResult(parser);
+
+        result.setGraphMode(GraphMode.SKIP);
+
+        assertThat(result.next()).isTrue();
+        assertThat(result.getColumn("c2").getString()).isEqualTo(Optional.of("value2"));
+        assertThat(result.getNodes()).isEmpty();
+        assertThat(result.getRelationships()).isEmpty();
+        assertThat(result.next()).isFalse();
+        assertThat(parser.nextToken()).isNull();
+    }
+
     @Test
     public void nextSkipsUnknownProperties() throws Exception {
         String json = "{\"columns\":[\"c1\",\"c2\"],\"unknown\":{},\"data\":[" + ROW + "],\"ignored\":[],\"enhancement\":true}";
@@ -69,4 +87,53 @@ public class StatementResultTest {
 
         assertThat(parser.nextToken()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void skipRemainingRows() throws Exception {
+        String json = "{\"columns\":[\"c1\",\"c2\"],\"data\":[" + ROW + "," + ROW + "," + ROW + "],\"ignored\":[{}]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        assert parser.nextToken() == JsonToken.START_OBJECT;
+        StatementResult result = new StatementResult(parser);
+        assertThat(result.next()).isTrue();
+
+        result.skipRemainingRows();
+
+        assertThat(result.getRow()).isNull();
+        assertThat(result.next()).isFalse();
+        assertThat(parser.nextToken()).isNull();
+    }
+
+    @Test
+    public void abortClosesParser() throws Exception {
+        String json = "{\"columns\":[\"c1\",\"c2\"],\"data\":[" + ROW + "," + ROW + "]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        assert parser.nextToken() == JsonToken.START_OBJECT;
+        StatementResult result = new StatementResult(parser);
+        assertThat(result.next()).isTrue();
+
+        result.abort();
+
+        assertThat(parser.isClosed()).isTrue();
+        assertThat(result.getRow()).isNull();
+        assertThat(result.next()).isFalse();
+    }
+
+    @Test
+    public void setColumnWriterWritesStringValues() throws Exception {
+        String json = "{\"columns\":[\"c1\",\"c2\"],\"data\":[" + ROW + "," + ROW + "]}";
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        assert parser.nextToken() == JsonToken.START_OBJECT;
+        StatementResult result = new StatementResult(parser);
+        StringWriter writer = new StringWriter();
+        result.setColumnWriter("c2", column -> writer);
+
+        assertThat(result.next()).isTrue();
+        assertThat(result.getColumn("c2").isWritten()).isTrue();
+        assertThat(result.getColumn("c1").getProperties().keySet()).containsOnly("p1", "p2");
+        assertThat(writer.toString()).isEqualTo("value2");
+        result.setColumnWriter("c2", null);
+        assertThat(result.next()).isTrue();
+        assertThat(result.getColumn("c2").getString()).isEqualTo(Optional.of("value2"));
+        assertThat(writer.toString()).isEqualTo("value2");
+    }
+}
@@ -0,0 +1,125 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2016 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.neo4j.client.transaction.response;
+
+import java.io.ByteArrayInputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.*;
+
+public class StringPoolTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final StringPool defaultPool = StringPool.getDefault();
+
+    @After
+    public void resetDefault() {
+        StringPool.setDefault(defaultPool);
+    }
+
+    @Test
+    public void canonicalizeReturnsPooledInstance() throws Exception {
+        StringPool pool = new StringPool(10, 0);
+        String value = "label";
+
+        assertThat(pool.canonicalize(value)).isSameAs(value);
+        assertThat(pool.canonicalize(new String(value))).isSameAs(value);
+
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.getHitCount()).isEqualTo(1L);
+        assertThat(pool.getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void canonicalizeReturnsNullForNull() throws Exception {
+        StringPool pool = new StringPool(10, 0);
+
+        assertThat(pool.canonicalize(null)).isNull();
+        assertThat(pool.getMissCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void canonicalizeDoesNotAddToFullPool() throws Exception {
+        StringPool pool = new StringPool(1, 0);
+        pool.canonicalize("one");
+        String value = "two";
+
+        assertThat(pool.canonicalize(value)).isSameAs(value);
+        assertThat(pool.canonicalize(new String(value))).isNotSameAs(value);
+
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.getMissCount()).isEqualTo(3L);
+    }
+
+    @Test
+    public void canonicalizeValueIgnoresLongValues() throws Exception {
+        StringPool pool = new StringPool(10, 3);
+        String shortValue = "abc";
+        String longValue = "abcd";
+
+        assertThat(pool.canonicalizeValue(shortValue)).isSameAs(shortValue);
+        assertThat(pool.canonicalizeValue(new String(shortValue))).isSameAs(shortValue);
+        assertThat(pool.canonicalizeValue(longValue)).isSameAs(longValue);
+        assertThat(pool.canonicalizeValue(new String(longValue))).isNotSameAs(longValue);
+
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void clearResetsStatistics() throws Exception {
+        StringPool pool = new StringPool(10, 0);
+        pool.canonicalize("one");
+        pool.canonicalize("one");
+
+        pool.clear();
+
+        assertThat(pool.size()).isEqualTo(0);
+        assertThat(pool.getHitCount()).isEqualTo(0L);
+        assertThat(pool.getMissCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void parsingUsesDefaultPool() throws Exception {
+        StringPool pool = new StringPool(10, 8);
+        StringPool.setDefault(pool);
+        String json = "{\"id\":\"1\",\"labels\":[\"l1\"],\"properties\":{\"status\":\"active\"}}";
+
+        Node node1 = Node.read(nextObject(json));
+        Node node2 = Node.read(nextObject(json));
+        Relationship relationship1 = Relationship.read(nextObject("{\"id\":2,\"type\":\"R1\"}"));
+        Relationship relationship2 = Relationship.read(nextObject("{\"id\":3,\"type\":\"R1\"}"));
+
+        assertThat(node2.getProperties().get("status")).isSameAs(node1.getProperties().get("status"));
+        assertThat(relationship2.getType()).isSameAs(relationship1.getType());
+        assertThat(pool.getHitCount()).isEqualTo(2L);
+        assertThat(pool.getMissCount()).isEqualTo(2L);
+    }
+
+    private JsonParser nextObject(String json) throws Exception {
+        JsonParser parser = jsonFactory.createParser(new ByteArrayInputStream(json.getBytes()));
+        parser.nextToken();
+        return parser;
+    }
+}